@@ -87,6 +87,9 @@ public class ChunkCollectorCommand implements CommandExecutor, TabCompleter {
         int totalCollectors = plugin.getChunkCollectorManager().getCollectors().size();
         sender.sendMessage(plugin.getConfigManager().getPrefix() + "§6Chunk Collector Info:");
         sender.sendMessage("§7Total Collectors: §a" + totalCollectors);
+        sender.sendMessage("§7Loaded Collectors: §a" + plugin.getChunkCollectorManager().getLoadedCollectorCount());
+        sender.sendMessage(String.format("§7Hologram Refresh: §a%.3f ms §7avg, §a%.3f ms §7max per tick",
+                plugin.getHologramManager().getAverageSliceMillis(), plugin.getHologramManager().getMaxSliceMillis()));
         sender.sendMessage("§7Collection Speed: §a" + plugin.getConfigManager().getCollectionSpeed() + " ticks");
         sender.sendMessage("§7Max Collectors per Player: §a" + plugin.getConfigManager().getMaxCollectorsPerPlayer());
         sender.sendMessage(
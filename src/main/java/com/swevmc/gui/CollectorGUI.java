@@ -50,14 +50,9 @@ public class CollectorGUI implements Listener {
 
         player.openInventory(gui);
 
-        try {
-
-            @SuppressWarnings("deprecation")
-            org.bukkit.Sound sound = org.bukkit.Sound.valueOf(plugin.getConfigManager().getSound("gui-open"));
-            player.playSound(player.getLocation(), sound, 0.5f, 1.0f);
-        } catch (IllegalArgumentException e) {
-            player.playSound(player.getLocation(), org.bukkit.Sound.UI_BUTTON_CLICK, 0.5f, 1.0f);
-        }
+        player.playSound(player.getLocation(),
+                plugin.getConfigManager().getSnapshot().getSound("gui-open", org.bukkit.Sound.UI_BUTTON_CLICK),
+                0.5f, 1.0f);
     }
 
     private ItemStack createChargeButton(ChunkCollector collector, Player player) {
@@ -54,7 +54,7 @@ public class ChunkCollectorListener implements Listener {
         Player player = event.getPlayer();
 
         if (isCollectorBlock(event.getBlock())) {
-            ChunkCollector collector = plugin.getChunkCollectorManager().getCollector(event.getBlock().getLocation());
+            ChunkCollector collector = plugin.getChunkCollectorManager().getCollector(event.getBlock());
 
             if (collector != null) {
                 if (!collector.isOwner(player)) {
@@ -82,8 +82,7 @@ public class ChunkCollectorListener implements Listener {
         Player player = event.getPlayer();
 
         if (isCollectorBlock(event.getClickedBlock())) {
-            ChunkCollector collector = plugin.getChunkCollectorManager()
-                    .getCollector(event.getClickedBlock().getLocation());
+            ChunkCollector collector = plugin.getChunkCollectorManager().getCollector(event.getClickedBlock());
 
             if (collector != null) {
                 if (!collector.isOwner(player)) {
@@ -99,13 +98,7 @@ public class ChunkCollectorListener implements Listener {
     }
 
     private boolean isCollectorBlock(Material material) {
-        String blockType = plugin.getConfigManager().getBlockType();
-
-        switch (blockType) {
-            case "BEACON":
-            default:
-                return material == Material.BEACON;
-        }
+        return material == plugin.getConfigManager().getBlockMaterial();
     }
 
     private boolean isCollectorBlock(Block block) {
@@ -113,21 +106,15 @@ public class ChunkCollectorListener implements Listener {
     }
 
     private boolean isCollectorItem(ItemStack item) {
-        if (item == null || !item.hasItemMeta() || !item.getItemMeta().hasDisplayName()) {
+        if (item == null || item.getType() != plugin.getConfigManager().getBlockMaterial()) {
             return false;
         }
 
-        String displayName = item.getItemMeta().getDisplayName();
-        if (!displayName.contains("Chunk Collector")) {
+        if (!item.hasItemMeta() || !item.getItemMeta().hasDisplayName()) {
             return false;
         }
 
-        String blockType = plugin.getConfigManager().getBlockType();
-
-        switch (blockType) {
-            case "BEACON":
-            default:
-                return item.getType() == Material.BEACON;
-        }
+        String displayName = item.getItemMeta().getDisplayName();
+        return displayName.contains("Chunk Collector");
     }
 }
@@ -0,0 +1,39 @@
+package com.swevmc.listeners;
+
+import com.swevmc.scc;
+import com.swevmc.managers.ChunkCollectorManager;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.block.BlockDropItemEvent;
+import org.bukkit.event.entity.EntityDropItemEvent;
+import org.bukkit.event.entity.ItemSpawnEvent;
+
+public class ItemCollectionListener implements Listener {
+
+    private final scc plugin;
+
+    public ItemCollectionListener(scc plugin) {
+        this.plugin = plugin;
+    }
+
+    @EventHandler(priority = EventPriority.HIGHEST, ignoreCancelled = true)
+    public void onBlockDropItem(BlockDropItemEvent event) {
+        ChunkCollectorManager manager = plugin.getChunkCollectorManager();
+        event.getItems().removeIf(manager::collectDrop);
+    }
+
+    @EventHandler(priority = EventPriority.HIGHEST, ignoreCancelled = true)
+    public void onEntityDropItem(EntityDropItemEvent event) {
+        if (plugin.getChunkCollectorManager().collectDrop(event.getItemDrop())) {
+            event.setCancelled(true);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.HIGHEST, ignoreCancelled = true)
+    public void onItemSpawn(ItemSpawnEvent event) {
+        if (plugin.getChunkCollectorManager().collectDrop(event.getEntity())) {
+            event.setCancelled(true);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.swevmc.listeners;
+
+import com.swevmc.scc;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
+
+public class SettlementListener implements Listener {
+
+    private final scc plugin;
+
+    public SettlementListener(scc plugin) {
+        this.plugin = plugin;
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerJoin(PlayerJoinEvent event) {
+        plugin.getSettlementManager().handleJoin(event.getPlayer());
+    }
+}
@@ -0,0 +1,138 @@
+package com.swevmc.managers;
+
+import com.swevmc.scc;
+import com.swevmc.models.ChunkCollector;
+import com.swevmc.utils.DataManager;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Periodically persists queued collector changes. Changed collectors are
+ * copied on the main thread so every save sees a consistent state, and the
+ * copies are written on a single background thread. A running charge is
+ * stored as its expiry time, so it only needs saving when it changes; the
+ * final save freezes every active charge so none drain while stopped.
+ */
+public class AutosaveManager {
+
+    private final scc plugin;
+    private final ChunkCollectorManager collectorManager;
+    private final DataManager dataManager;
+    private final ExecutorService executor;
+    private final AtomicBoolean saving = new AtomicBoolean();
+    private BukkitTask autosaveTask;
+
+    public AutosaveManager(scc plugin) {
+        this.plugin = plugin;
+        this.collectorManager = plugin.getChunkCollectorManager();
+        this.dataManager = plugin.getDataManager();
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "ChunkCollector-Autosave");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public void start() {
+        long period = Math.max(1, plugin.getConfigManager().getAutosaveInterval()) * 20L;
+        autosaveTask = plugin.getServer().getScheduler().runTaskTimer(plugin, this::autosave, period, period);
+    }
+
+    public void shutdown() {
+        if (autosaveTask != null) {
+            autosaveTask.cancel();
+            autosaveTask = null;
+        }
+
+        collectorManager.queueActiveCollectors();
+        submit(false, true);
+        executor.shutdown();
+
+        long timeout = Math.max(1, plugin.getConfigManager().getShutdownSaveTimeout());
+        try {
+            if (!executor.awaitTermination(timeout, TimeUnit.SECONDS)) {
+                plugin.getLogger().severe("Final collector save did not finish within " + timeout
+                        + "s, recent changes may be lost");
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public void autosave() {
+        if (saving.get()) {
+            return;
+        }
+
+        submit(true, false);
+    }
+
+    private void submit(boolean requeueOnFailure, boolean freezeCharges) {
+        if (!collectorManager.hasQueuedWrites()) {
+            return;
+        }
+
+        List<ChunkCollector> updates = collectorManager.snapshotQueuedUpdates(freezeCharges);
+        List<UUID> deletes = collectorManager.drainQueuedDeletes();
+        saving.set(true);
+        executor.execute(() -> {
+            try {
+                write(updates, deletes, requeueOnFailure);
+            } finally {
+                saving.set(false);
+            }
+        });
+    }
+
+    private void write(List<ChunkCollector> updates, List<UUID> deletes, boolean requeueOnFailure) {
+        int batchSize = Math.max(1, plugin.getConfigManager().getWriteBatchSize());
+        long startTime = System.nanoTime();
+        long startBytes = dataManager.getBytesWritten();
+
+        int updateIndex = 0;
+        int deleteIndex = 0;
+        while (updateIndex < updates.size() || deleteIndex < deletes.size()) {
+            int updateEnd = Math.min(updates.size(), updateIndex + batchSize);
+            int deleteEnd = Math.min(deletes.size(), deleteIndex + batchSize);
+            if (!dataManager.saveChanges(updates.subList(updateIndex, updateEnd),
+                    deletes.subList(deleteIndex, deleteEnd))) {
+                int pending = updates.size() - updateIndex + deletes.size() - deleteIndex;
+                plugin.getLogger().warning("Failed to save collector changes, " + pending
+                        + (requeueOnFailure ? " pending writes kept for retry" : " pending writes lost"));
+                if (requeueOnFailure) {
+                    requeue(updates.subList(updateIndex, updates.size()), deletes.subList(deleteIndex, deletes.size()));
+                }
+                return;
+            }
+            updateIndex = updateEnd;
+            deleteIndex = deleteEnd;
+        }
+
+        long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+        long bytes = dataManager.getBytesWritten() - startBytes;
+        plugin.getLogger().info("Saved " + updates.size() + " collectors and " + deletes.size() + " removals in "
+                + millis + "ms (" + String.format("%.1f", bytes / 1024.0) + " KB written)");
+    }
+
+    private void requeue(List<ChunkCollector> failedUpdates, List<UUID> failedDeletes) {
+        List<UUID> updateIds = new ArrayList<>(failedUpdates.size());
+        for (ChunkCollector collector : failedUpdates) {
+            updateIds.add(collector.getUuid());
+        }
+        List<UUID> deleteIds = new ArrayList<>(failedDeletes);
+
+        if (plugin.isEnabled()) {
+            plugin.getServer().getScheduler().runTask(plugin,
+                    () -> collectorManager.requeueWrites(updateIds, deleteIds));
+        }
+    }
+}
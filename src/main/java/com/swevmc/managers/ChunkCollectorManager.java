@@ -2,10 +2,18 @@ package com.swevmc.managers;
 
 import com.swevmc.scc;
 import com.swevmc.models.ChunkCollector;
+import com.swevmc.models.CollectionBatch;
+import com.swevmc.storage.RegionalStorage;
+import com.swevmc.utils.ChunkKeyMap;
 import com.swevmc.utils.DataManager;
+import com.swevmc.utils.TimerWheel;
+import com.swevmc.utils.WriteBehindQueue;
+import org.bukkit.Bukkit;
 import org.bukkit.Chunk;
 import org.bukkit.Location;
 import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.block.Block;
 import org.bukkit.entity.Item;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
@@ -21,27 +29,48 @@ public class ChunkCollectorManager {
     private final scc plugin;
     private final DataManager dataManager;
     private final Map<UUID, ChunkCollector> collectors;
-    private final Map<String, UUID> chunkCollectors;
+    private final Map<UUID, ChunkKeyMap<ChunkCollector>> chunkIndex;
     private final Map<UUID, Integer> playerCollectorCount;
-    private BukkitTask collectionTask;
+    private final LoadedCollectorSet loadedCollectors;
+    private final CollectionScheduler collectionScheduler;
+    private final TimerWheel<ChunkCollector> chargeTimers;
+    private final TimerWheel<ChunkCollector> autosellTimers;
     private BukkitTask tickTask;
     private int particleTickCounter = 0;
+    private boolean eventCollection;
+    private int minScanInterval;
+    private int maxScanInterval;
+    private boolean pauseChargeWhenUnloaded;
+    private final Location scratchLocation = new Location(null, 0, 0, 0);
+    private final CollectionBatch scanBatch = new CollectionBatch();
+    private final Map<ChunkCollector, CollectionBatch> pendingDrops = new IdentityHashMap<>();
+    private final WriteBehindQueue writeQueue = new WriteBehindQueue();
+    private final Map<UUID, Set<Long>> loadedRegions = new HashMap<>();
+    private final Map<UUID, Set<Long>> pendingRegions = new HashMap<>();
+    private boolean regionalStorage;
 
     public ChunkCollectorManager(scc plugin) {
         this.plugin = plugin;
-        this.dataManager = new DataManager(plugin);
+        this.dataManager = plugin.getDataManager();
         this.collectors = new ConcurrentHashMap<>();
-        this.chunkCollectors = new ConcurrentHashMap<>();
+        this.chunkIndex = new HashMap<>();
         this.playerCollectorCount = new ConcurrentHashMap<>();
+        this.loadedCollectors = new LoadedCollectorSet();
+        this.collectionScheduler = new CollectionScheduler(plugin, loadedCollectors, this::scanCollector);
+        long now = System.currentTimeMillis();
+        this.chargeTimers = new TimerWheel<>(1000L, now);
+        this.autosellTimers = new TimerWheel<>(1000L, now);
     }
 
     public void startTasks() {
-        collectionTask = new BukkitRunnable() {
-            @Override
-            public void run() {
-                collectItems();
-            }
-        }.runTaskTimer(plugin, 0, plugin.getConfigManager().getCollectionSpeed());
+        eventCollection = "EVENT".equals(plugin.getConfigManager().getCollectionMode());
+        minScanInterval = Math.max(1, eventCollection
+                ? plugin.getConfigManager().getFallbackSweepInterval()
+                : plugin.getConfigManager().getCollectionSpeed());
+        maxScanInterval = Math.max(minScanInterval, plugin.getConfigManager().getMaxCollectionInterval());
+        pauseChargeWhenUnloaded = plugin.getConfigManager().isPauseChargeWhenUnloaded();
+
+        collectionScheduler.start(minScanInterval);
 
         tickTask = new BukkitRunnable() {
             @Override
@@ -52,9 +81,8 @@ public class ChunkCollectorManager {
     }
 
     public void shutdown() {
-        if (collectionTask != null) {
-            collectionTask.cancel();
-        }
+        flushPendingDrops();
+        collectionScheduler.stop();
         if (tickTask != null) {
             tickTask.cancel();
         }
@@ -77,8 +105,8 @@ public class ChunkCollectorManager {
             }
         }
 
-        String chunkKey = getChunkKey(location);
-        if (chunkCollectors.containsKey(chunkKey)) {
+        if (getCollector(location) != null || isRegionPending(location.getWorld(),
+                location.getBlockX() >> 4, location.getBlockZ() >> 4)) {
             return false;
         }
 
@@ -97,35 +125,26 @@ public class ChunkCollectorManager {
         location.getBlock().setType(blockMaterial);
 
         collectors.put(collector.getUuid(), collector);
-        chunkCollectors.put(chunkKey, collector.getUuid());
+        indexCollector(collector);
+        loadedCollectors.add(collector);
         playerCollectorCount.merge(player.getUniqueId(), 1, Integer::sum);
+        writeQueue.markChanged(collector);
 
         collector.createHologram();
 
-        try {
-            location.getWorld().playSound(location,
-                    org.bukkit.Sound.valueOf(plugin.getConfigManager().getSound("collector-place")),
-                    1.0f, 1.0f);
-        } catch (IllegalArgumentException e) {
-            location.getWorld().playSound(location, org.bukkit.Sound.BLOCK_ANVIL_PLACE, 1.0f, 1.0f);
-        }
+        ConfigSnapshot config = plugin.getConfigManager().getSnapshot();
+        location.getWorld().playSound(location,
+                config.getSound("collector-place", org.bukkit.Sound.BLOCK_ANVIL_PLACE), 1.0f, 1.0f);
 
         location.getWorld().spawnParticle(
-                org.bukkit.Particle.valueOf(plugin.getConfigManager().getEffect("collector-place-particle")),
+                config.getEffect("collector-place-particle", org.bukkit.Particle.HAPPY_VILLAGER),
                 location.clone().add(0.5, 1, 0.5), 20, 0.5, 0.5, 0.5, 0.1);
 
         return true;
     }
 
     public boolean removeCollector(Player player, Location location) {
-        String chunkKey = getChunkKey(location);
-        UUID collectorUuid = chunkCollectors.get(chunkKey);
-
-        if (collectorUuid == null) {
-            return false;
-        }
-
-        ChunkCollector collector = collectors.get(collectorUuid);
+        ChunkCollector collector = getCollector(location);
         if (collector == null) {
             return false;
         }
@@ -134,9 +153,11 @@ public class ChunkCollectorManager {
             return false;
         }
 
-        collectors.remove(collectorUuid);
-        chunkCollectors.remove(chunkKey);
+        collectors.remove(collector.getUuid());
+        unindexCollector(collector);
+        loadedCollectors.remove(collector);
         playerCollectorCount.merge(player.getUniqueId(), -1, Integer::sum);
+        writeQueue.markDeleted(collector.getUuid());
 
         collector.removeHologram();
         plugin.getHologramManager().removeHologramByLocation(location);
@@ -150,27 +171,33 @@ public class ChunkCollectorManager {
             player.getInventory().addItem(collectorItem);
         }
 
-        try {
-            location.getWorld().playSound(location,
-                    org.bukkit.Sound.valueOf(plugin.getConfigManager().getSound("collector-remove")),
-                    1.0f, 1.0f);
-        } catch (IllegalArgumentException e) {
-            location.getWorld().playSound(location, org.bukkit.Sound.BLOCK_ANVIL_BREAK, 1.0f, 1.0f);
-        }
+        ConfigSnapshot config = plugin.getConfigManager().getSnapshot();
+        location.getWorld().playSound(location,
+                config.getSound("collector-remove", org.bukkit.Sound.BLOCK_ANVIL_BREAK), 1.0f, 1.0f);
 
         player.playSound(player.getLocation(), org.bukkit.Sound.ENTITY_ITEM_PICKUP, 0.5f, 1.2f);
 
         location.getWorld().spawnParticle(
-                org.bukkit.Particle.valueOf(plugin.getConfigManager().getEffect("collector-break-particle")),
+                config.getEffect("collector-break-particle", org.bukkit.Particle.EXPLOSION_EMITTER),
                 location.clone().add(0.5, 0.5, 0.5), 50, 0.5, 0.5, 0.5, 0.1);
 
         return true;
     }
 
     public ChunkCollector getCollector(Location location) {
-        String chunkKey = getChunkKey(location);
-        UUID collectorUuid = chunkCollectors.get(chunkKey);
-        return collectorUuid != null ? collectors.get(collectorUuid) : null;
+        return getCollector(location.getWorld(), location.getBlockX() >> 4, location.getBlockZ() >> 4);
+    }
+
+    public ChunkCollector getCollector(Block block) {
+        return getCollector(block.getWorld(), block.getX() >> 4, block.getZ() >> 4);
+    }
+
+    public ChunkCollector getCollector(World world, int chunkX, int chunkZ) {
+        if (world == null) {
+            return null;
+        }
+        ChunkKeyMap<ChunkCollector> worldIndex = chunkIndex.get(world.getUID());
+        return worldIndex != null ? worldIndex.get(chunkX, chunkZ) : null;
     }
 
     public ChunkCollector getCollector(UUID uuid) {
@@ -191,118 +218,457 @@ public class ChunkCollectorManager {
         return playerCollectorCount.getOrDefault(playerUuid, 0);
     }
 
-    private void collectItems() {
-        for (ChunkCollector collector : collectors.values()) {
-            if (!collector.isActive())
+    public int getLoadedCollectorCount() {
+        return loadedCollectors.size();
+    }
+
+    public LoadedCollectorSet getLoadedCollectors() {
+        return loadedCollectors;
+    }
+
+    public void handleChunkLoad(Chunk chunk) {
+        if (regionalStorage && requestRegion(chunk.getWorld(), chunk.getX() >> RegionalStorage.REGION_SHIFT,
+                chunk.getZ() >> RegionalStorage.REGION_SHIFT)) {
+            return;
+        }
+
+        ChunkCollector collector = getCollector(chunk.getWorld(), chunk.getX(), chunk.getZ());
+        if (collector != null) {
+            markLoaded(collector);
+        }
+    }
+
+    public void handleChunkUnload(Chunk chunk) {
+        ChunkCollector collector = getCollector(chunk.getWorld(), chunk.getX(), chunk.getZ());
+        if (collector != null) {
+            markUnloaded(collector);
+        }
+    }
+
+    public void handleWorldLoad(World world) {
+        ChunkKeyMap<ChunkCollector> worldIndex = chunkIndex.get(world.getUID());
+        if (worldIndex == null) {
+            return;
+        }
+
+        worldIndex.forEachValue(collector -> {
+            if (world.isChunkLoaded(collector.getChunkX(), collector.getChunkZ())) {
+                markLoaded(collector);
+            }
+        });
+    }
+
+    public void handleWorldUnload(World world) {
+        loadedCollectors.removeWorld(world.getUID());
+
+        ChunkKeyMap<ChunkCollector> worldIndex = chunkIndex.get(world.getUID());
+        if (worldIndex == null) {
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        worldIndex.forEachValue(collector -> {
+            plugin.getHologramManager().handleCollectorUnload(collector);
+            if (pauseChargeWhenUnloaded) {
+                pauseCharge(collector, now);
+            }
+        });
+    }
+
+    private void markLoaded(ChunkCollector collector) {
+        loadedCollectors.add(collector);
+        plugin.getHologramManager().handleCollectorLoad(collector);
+        if (!collector.isChargePaused()) {
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        collector.resumeCharge(now);
+        queueSave(collector);
+        if (collector.isChargeExpired(now)) {
+            collector.deactivate();
+            return;
+        }
+        if (now >= collector.getNextAutosellAt()) {
+            collector.autosell(now);
+        }
+        scheduleTimers(collector);
+    }
+
+    private void markUnloaded(ChunkCollector collector) {
+        loadedCollectors.remove(collector);
+        plugin.getHologramManager().handleCollectorUnload(collector);
+        if (pauseChargeWhenUnloaded) {
+            pauseCharge(collector, System.currentTimeMillis());
+        }
+    }
+
+    private void pauseCharge(ChunkCollector collector, long now) {
+        if (collector.isActive() && !collector.isChargePaused()) {
+            collector.pauseCharge(now);
+            queueSave(collector);
+        }
+    }
+
+    public boolean collectDrop(Item item) {
+        Location itemLocation = item.getLocation(scratchLocation);
+        ChunkCollector collector = getCollector(itemLocation);
+        if (collector == null || !collector.isActive()) {
+            return false;
+        }
+
+        if (!eventCollection) {
+            collector.resetScanInterval(Bukkit.getCurrentTick(), minScanInterval);
+            return false;
+        }
+
+        if (!canCollect(item, itemLocation)) {
+            return false;
+        }
+
+        CollectionBatch batch = pendingDrops.get(collector);
+        if (batch == null) {
+            if (pendingDrops.isEmpty()) {
+                Bukkit.getScheduler().runTask(plugin, this::flushPendingDrops);
+            }
+            batch = new CollectionBatch();
+            pendingDrops.put(collector, batch);
+        }
+
+        ItemStack stack = item.getItemStack();
+        batch.add(stack.getType(), stack.getAmount(), itemLocation);
+        return true;
+    }
+
+    /**
+     * Applies drops batched during the last tick. The item entities are
+     * already gone, so if the collector was removed or ran out meanwhile the
+     * items go to its live replacement or are dropped back where they were.
+     */
+    private void flushPendingDrops() {
+        for (Map.Entry<ChunkCollector, CollectionBatch> entry : pendingDrops.entrySet()) {
+            ChunkCollector collector = entry.getKey();
+            CollectionBatch batch = entry.getValue();
+            ChunkCollector current = collectors.get(collector.getUuid());
+            if (current != null && current.isActive()) {
+                current.collectItems(batch);
+            } else {
+                dropBatch(batch);
+            }
+        }
+        pendingDrops.clear();
+    }
+
+    private void dropBatch(CollectionBatch batch) {
+        Location location = batch.getEffectLocation();
+        for (Map.Entry<Material, Integer> entry : batch.getAmounts().entrySet()) {
+            Material material = entry.getKey();
+            int maxStackSize = material.getMaxStackSize();
+            for (int remaining = entry.getValue(); remaining > 0; remaining -= maxStackSize) {
+                location.getWorld().dropItem(location, new ItemStack(material, Math.min(remaining, maxStackSize)));
+            }
+        }
+    }
+
+    private boolean canCollect(Item item, Location itemLocation) {
+        if (item.getOwner() != null || item.getThrower() != null) {
+            return false;
+        }
+
+        ConfigSnapshot config = plugin.getConfigManager().getSnapshot();
+        int y = itemLocation.getBlockY();
+        if (y < config.getMinCollectionHeight() || y > config.getMaxCollectionHeight()) {
+            return false;
+        }
+
+        return config.isCollectible(item.getItemStack().getType());
+    }
+
+    private void scanCollector(ChunkCollector collector) {
+        if (!collector.isActive())
+            return;
+
+        long currentTick = Bukkit.getCurrentTick();
+        if (!collector.isScanDue(currentTick)) {
+            return;
+        }
+
+        Chunk chunk = collector.getWorld().getChunkAt(collector.getChunkX(), collector.getChunkZ());
+
+        for (org.bukkit.entity.Entity entity : chunk.getEntities()) {
+            if (!(entity instanceof Item))
                 continue;
 
-            Location location = collector.getLocation();
-            int chunkX = location.getBlockX() >> 4;
-            int chunkZ = location.getBlockZ() >> 4;
+            Item item = (Item) entity;
+            Location itemLocation = item.getLocation(scratchLocation);
 
-            if (!location.getWorld().isChunkLoaded(chunkX, chunkZ)) {
+            if (!canCollect(item, itemLocation)) {
                 continue;
             }
 
-            Chunk chunk = location.getChunk();
+            ItemStack stack = item.getItemStack();
+            scanBatch.add(stack.getType(), stack.getAmount(), itemLocation);
+            item.remove();
+        }
 
-            for (org.bukkit.entity.Entity entity : chunk.getEntities()) {
-                if (!(entity instanceof Item))
-                    continue;
+        collector.recordScan(currentTick, scanBatch.getTotalAmount(), minScanInterval, maxScanInterval);
+        collector.collectItems(scanBatch);
+        scanBatch.clear();
+    }
 
-                Item item = (Item) entity;
-                Location itemLocation = item.getLocation();
+    public void scheduleTimers(ChunkCollector collector) {
+        if (!collector.isActive()) {
+            return;
+        }
 
-                if (item.getOwner() != null)
-                    continue;
+        long expiresAt = collector.getChargeExpiresAt();
+        if (collector.getScheduledChargeExpiresAt() != expiresAt) {
+            collector.setScheduledChargeExpiresAt(expiresAt);
+            chargeTimers.schedule(collector, expiresAt);
+        }
 
-                int y = itemLocation.getBlockY();
-                if (y < plugin.getConfigManager().getMinCollectionHeight() ||
-                        y > plugin.getConfigManager().getMaxCollectionHeight()) {
-                    continue;
-                }
+        long autosellAt = collector.getNextAutosellAt();
+        if (collector.getScheduledAutosellAt() != autosellAt) {
+            collector.setScheduledAutosellAt(autosellAt);
+            autosellTimers.schedule(collector, autosellAt);
+        }
+    }
 
-                Material material = item.getItemStack().getType();
-                if (!plugin.getConfigManager().getCollectibleItems().contains(material)) {
-                    continue;
-                }
+    private boolean isRegistered(ChunkCollector collector) {
+        return collectors.get(collector.getUuid()) == collector;
+    }
 
-                collector.collectItem(item.getItemStack(), itemLocation);
-                item.remove();
-            }
+    private void handleAutosellTimer(ChunkCollector collector, long deadline) {
+        if (collector.getScheduledAutosellAt() != deadline) {
+            return;
+        }
+        collector.setScheduledAutosellAt(0);
+
+        if (!collector.isActive() || collector.isChargePaused() || !isRegistered(collector)) {
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        if (now >= collector.getNextAutosellAt()) {
+            collector.autosell(now);
+        }
+        scheduleTimers(collector);
+    }
+
+    private void handleChargeTimer(ChunkCollector collector, long deadline) {
+        if (collector.getScheduledChargeExpiresAt() != deadline) {
+            return;
+        }
+        collector.setScheduledChargeExpiresAt(0);
+
+        if (collector.getChargeExpiresAt() != deadline || !isRegistered(collector)) {
+            return;
+        }
+
+        if (collector.isChargeExpired(System.currentTimeMillis())) {
+            collector.deactivate();
         }
     }
 
     private void tickCollectors() {
         particleTickCounter++;
 
-        for (ChunkCollector collector : collectors.values()) {
-            collector.tick();
+        long now = System.currentTimeMillis();
+        autosellTimers.advance(now, this::handleAutosellTimer);
+        chargeTimers.advance(now, this::handleChargeTimer);
 
-            int frequency = plugin.getConfigManager().getHappyVillagerParticleFrequency();
-            if (collector.isActive() && particleTickCounter % frequency == 0) {
-                Location loc = collector.getLocation();
-                if (!loc.getWorld().isChunkLoaded(loc.getBlockX() >> 4, loc.getBlockZ() >> 4)) {
-                    continue;
-                }
+        int frequency = plugin.getConfigManager().getSnapshot().getHappyVillagerParticleFrequency();
+        if (particleTickCounter % frequency != 0) {
+            return;
+        }
 
-                loc.getWorld().spawnParticle(
-                        org.bukkit.Particle.HAPPY_VILLAGER,
-                        loc.clone().add(0.5, 1.5, 0.5),
-                        3,
-                        0.8, 0.5, 0.8,
-                        0.0);
+        for (int i = 0; i < loadedCollectors.size(); i++) {
+            ChunkCollector collector = loadedCollectors.get(i);
+            if (!collector.isActive()) {
+                continue;
             }
+
+            collector.getWorld().spawnParticle(
+                    org.bukkit.Particle.HAPPY_VILLAGER,
+                    collector.getBlockX() + 0.5, collector.getBlockY() + 1.5, collector.getBlockZ() + 0.5,
+                    3,
+                    0.8, 0.5, 0.8,
+                    0.0);
         }
     }
 
-    private String getChunkKey(Location location) {
-        return location.getWorld().getName() + ":" + (location.getBlockX() >> 4) + ":" + (location.getBlockZ() >> 4);
+    private void indexCollector(ChunkCollector collector) {
+        chunkIndex.computeIfAbsent(collector.getWorldUid(), worldUid -> new ChunkKeyMap<>())
+                .put(collector.getChunkKey(), collector);
+    }
+
+    private void unindexCollector(ChunkCollector collector) {
+        ChunkKeyMap<ChunkCollector> worldIndex = chunkIndex.get(collector.getWorldUid());
+        if (worldIndex != null) {
+            worldIndex.remove(collector.getChunkKey());
+        }
     }
 
     private Material getCollectorBlockMaterial() {
-        String blockType = plugin.getConfigManager().getBlockType();
+        return plugin.getConfigManager().getBlockMaterial();
+    }
+
+    public void loadCollectors() {
+        regionalStorage = dataManager.isRegionalStorage();
+        if (regionalStorage) {
+            playerCollectorCount.putAll(dataManager.loadOwnerCounts());
+
+            int loaded = collectors.size();
+            for (World world : Bukkit.getWorlds()) {
+                for (Chunk chunk : world.getLoadedChunks()) {
+                    loadRegion(world, chunk.getX() >> RegionalStorage.REGION_SHIFT,
+                            chunk.getZ() >> RegionalStorage.REGION_SHIFT);
+                }
+            }
+            plugin.getLogger().info("Loaded " + (collectors.size() - loaded) + " collectors from "
+                    + loadedRegions.values().stream().mapToInt(Set::size).sum() + " regions");
+            startTasks();
+            return;
+        }
+
+        List<ChunkCollector> storedCollectors = dataManager.loadCollectors();
+
+        plugin.getLogger().info("Loading " + storedCollectors.size() + " collectors...");
+
+        for (ChunkCollector collector : storedCollectors) {
+            registerStoredCollector(collector, true);
+        }
+
+        startTasks();
+    }
 
-        switch (blockType) {
-            case "BEACON":
-            default:
-                return Material.BEACON;
+    /**
+     * Loads a storage region at startup, before any saves can run.
+     */
+    private void loadRegion(World world, int regionX, int regionZ) {
+        Set<Long> regions = loadedRegions.computeIfAbsent(world.getUID(), uid -> new HashSet<>());
+        if (regions.add(ChunkKeyMap.pack(regionX, regionZ))) {
+            registerRegion(dataManager.loadRegion(world.getName(), regionX, regionZ));
         }
     }
 
-    public void loadCollectors() {
-        List<ChunkCollector> loadedCollectors = dataManager.loadCollectors();
+    /**
+     * Reads a storage region off the main thread the first time one of its
+     * chunks loads, then registers its collectors on the main thread.
+     * Returns false if the region was already requested.
+     */
+    private boolean requestRegion(World world, int regionX, int regionZ) {
+        long regionKey = ChunkKeyMap.pack(regionX, regionZ);
+        if (!loadedRegions.computeIfAbsent(world.getUID(), uid -> new HashSet<>()).add(regionKey)) {
+            return false;
+        }
 
-        plugin.getLogger().info("Loading " + loadedCollectors.size() + " collectors...");
+        UUID worldUid = world.getUID();
+        String worldName = world.getName();
+        pendingRegions.computeIfAbsent(worldUid, uid -> new HashSet<>()).add(regionKey);
+        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
+            List<ChunkCollector> stored = dataManager.loadRegion(worldName, regionX, regionZ);
+            if (plugin.isEnabled()) {
+                Bukkit.getScheduler().runTask(plugin, () -> {
+                    Set<Long> pending = pendingRegions.get(worldUid);
+                    if (pending != null) {
+                        pending.remove(regionKey);
+                    }
+                    if (Bukkit.getWorld(worldUid) != null) {
+                        registerRegion(stored);
+                    }
+                });
+            }
+        });
+        return true;
+    }
 
-        for (ChunkCollector collector : loadedCollectors) {
-            collectors.put(collector.getUuid(), collector);
-            chunkCollectors.put(getChunkKey(collector.getLocation()), collector.getUuid());
+    private boolean isRegionPending(World world, int chunkX, int chunkZ) {
+        Set<Long> pending = pendingRegions.get(world.getUID());
+        return pending != null && pending.contains(ChunkKeyMap.pack(chunkX >> RegionalStorage.REGION_SHIFT,
+                chunkZ >> RegionalStorage.REGION_SHIFT));
+    }
+
+    private void registerRegion(List<ChunkCollector> stored) {
+        for (ChunkCollector collector : stored) {
+            if (!collectors.containsKey(collector.getUuid())) {
+                registerStoredCollector(collector, false);
+            }
+        }
+    }
+
+    private void registerStoredCollector(ChunkCollector collector, boolean countOwner) {
+        collectors.put(collector.getUuid(), collector);
+        indexCollector(collector);
+        if (countOwner) {
             playerCollectorCount.merge(collector.getOwnerUuid(), 1, Integer::sum);
+        }
+        scheduleTimers(collector);
 
+        boolean chunkLoaded = collector.getWorld().isChunkLoaded(collector.getChunkX(), collector.getChunkZ());
+        if (chunkLoaded || !regionalStorage) {
             Location location = collector.getLocation();
             Material blockMaterial = getCollectorBlockMaterial();
             Material currentBlockType = location.getBlock().getType();
 
-            plugin.getLogger().info("Loading collector at " + location.getWorld().getName() +
-                    " " + location.getBlockX() + "," + location.getBlockY() + "," + location.getBlockZ() +
-                    " - Current block: " + currentBlockType + ", Setting to: " + blockMaterial);
-
             if (currentBlockType != blockMaterial) {
                 location.getBlock().setType(blockMaterial);
-                plugin.getLogger().info("Changed block from " + currentBlockType + " to " + blockMaterial);
-            } else {
-                plugin.getLogger().info("Block already correct type: " + blockMaterial);
+                plugin.getLogger().fine("Restored collector block at " + location.getWorld().getName() + " "
+                        + location.getBlockX() + "," + location.getBlockY() + "," + location.getBlockZ()
+                        + " from " + currentBlockType + " to " + blockMaterial);
+            }
+        }
+
+        collector.createHologram();
+
+        if (chunkLoaded) {
+            loadedCollectors.add(collector);
+        } else if (plugin.getConfigManager().isPauseChargeWhenUnloaded()) {
+            collector.pauseCharge(System.currentTimeMillis());
+        }
+    }
+
+    public void queueSave(ChunkCollector collector) {
+        if (collectors.get(collector.getUuid()) == collector) {
+            writeQueue.markChanged(collector);
+        }
+    }
+
+    public void queueActiveCollectors() {
+        for (ChunkCollector collector : collectors.values()) {
+            if (collector.isActive()) {
+                writeQueue.markChanged(collector);
             }
+        }
+    }
 
-            collector.createHologram();
+    public boolean hasQueuedWrites() {
+        return !writeQueue.isEmpty();
+    }
+
+    public List<ChunkCollector> snapshotQueuedUpdates(boolean freezeCharges) {
+        long now = System.currentTimeMillis();
+        List<ChunkCollector> updates = writeQueue.drainUpdates(Integer.MAX_VALUE);
+        List<ChunkCollector> snapshots = new ArrayList<>(updates.size());
+        for (ChunkCollector collector : updates) {
+            snapshots.add(collector.snapshot(now, freezeCharges));
         }
+        return snapshots;
+    }
 
-        startTasks();
+    public List<UUID> drainQueuedDeletes() {
+        return writeQueue.drainDeletes(Integer.MAX_VALUE);
     }
 
-    public void saveCollectors() {
-        dataManager.saveCollectors(new ArrayList<>(collectors.values()));
+    public void requeueWrites(List<UUID> failedUpdates, List<UUID> failedDeletes) {
+        List<ChunkCollector> live = new ArrayList<>(failedUpdates.size());
+        for (UUID collectorUuid : failedUpdates) {
+            ChunkCollector collector = collectors.get(collectorUuid);
+            if (collector != null) {
+                live.add(collector);
+            }
+        }
+        writeQueue.requeue(live, failedDeletes);
     }
 
     private ItemStack createCollectorItem(int amount) {
@@ -328,13 +694,7 @@ public class ChunkCollectorManager {
     }
 
     private Material getCollectorItemMaterial() {
-        String blockType = plugin.getConfigManager().getBlockType();
-
-        switch (blockType) {
-            case "BEACON":
-            default:
-                return Material.BEACON;
-        }
+        return plugin.getConfigManager().getBlockMaterial();
     }
 
     public int getMaxCollectorsForPlayer(Player player) {
@@ -0,0 +1,120 @@
+package com.swevmc.managers;
+
+import com.destroystokyo.paper.event.server.ServerTickEndEvent;
+import com.swevmc.scc;
+import com.swevmc.models.ChunkCollector;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.function.Consumer;
+
+/**
+ * Spreads collector scans over the collection interval instead of running
+ * them all in one tick. Each tick works through its share of the loaded set
+ * from a persistent cursor until the tick budget is spent. On Paper the
+ * budget is also capped by the time left in the current tick.
+ */
+public class CollectionScheduler {
+
+    private final scc plugin;
+    private final LoadedCollectorSet collectors;
+    private final Consumer<ChunkCollector> action;
+
+    private BukkitTask task;
+    private Listener tickEndListener;
+    private int interval;
+    private long budgetNanos;
+    private int minPerTick;
+    private int cursor;
+    private double owed;
+
+    public CollectionScheduler(scc plugin, LoadedCollectorSet collectors, Consumer<ChunkCollector> action) {
+        this.plugin = plugin;
+        this.collectors = collectors;
+        this.action = action;
+    }
+
+    public void start(int interval) {
+        stop();
+
+        this.interval = Math.max(1, interval);
+        this.budgetNanos = (long) (plugin.getConfigManager().getCollectionTickBudget() * 1_000_000L);
+        this.minPerTick = Math.max(1, plugin.getConfigManager().getMinCollectionsPerTick());
+
+        if (isTickEndEventAvailable()) {
+            tickEndListener = new TickEndListener(this);
+            plugin.getServer().getPluginManager().registerEvents(tickEndListener, plugin);
+        } else {
+            task = plugin.getServer().getScheduler().runTaskTimer(plugin, () -> runSlice(budgetNanos), 1L, 1L);
+        }
+    }
+
+    public void stop() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+        if (tickEndListener != null) {
+            HandlerList.unregisterAll(tickEndListener);
+            tickEndListener = null;
+        }
+    }
+
+    private void runSlice(long sliceBudgetNanos) {
+        int size = collectors.size();
+        if (size == 0) {
+            cursor = 0;
+            owed = 0;
+            return;
+        }
+
+        owed = Math.min(owed + (double) size / interval, size);
+        int quota = (int) owed;
+        if (quota == 0) {
+            return;
+        }
+
+        long deadline = System.nanoTime() + sliceBudgetNanos;
+        int visited = 0;
+        while (visited < quota && !collectors.isEmpty()) {
+            if (cursor >= collectors.size()) {
+                cursor = 0;
+            }
+
+            action.accept(collectors.get(cursor++));
+            visited++;
+
+            if (visited >= minPerTick && System.nanoTime() >= deadline) {
+                break;
+            }
+        }
+
+        owed -= visited;
+    }
+
+    private static boolean isTickEndEventAvailable() {
+        try {
+            Class.forName("com.destroystokyo.paper.event.server.ServerTickEndEvent");
+            return true;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+
+    private static final class TickEndListener implements Listener {
+
+        private final CollectionScheduler scheduler;
+
+        private TickEndListener(CollectionScheduler scheduler) {
+            this.scheduler = scheduler;
+        }
+
+        @EventHandler
+        public void onTickEnd(ServerTickEndEvent event) {
+            long timeLeft = Math.max(0L, event.getTimeRemaining());
+            scheduler.runSlice(Math.min(scheduler.budgetNanos, timeLeft));
+        }
+    }
+}
@@ -7,12 +7,12 @@ import org.bukkit.configuration.file.FileConfiguration;
 
 import java.util.List;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 public class ConfigManager {
 
     private final scc plugin;
     private FileConfiguration config;
+    private volatile ConfigSnapshot snapshot;
 
     public ConfigManager(scc plugin) {
         this.plugin = plugin;
@@ -22,11 +22,17 @@ public class ConfigManager {
         plugin.saveDefaultConfig();
         plugin.reloadConfig();
         config = plugin.getConfig();
+        snapshot = new ConfigSnapshot(config, plugin.getLogger());
     }
 
     public void reloadConfig() {
         plugin.reloadConfig();
         config = plugin.getConfig();
+        snapshot = new ConfigSnapshot(config, plugin.getLogger());
+    }
+
+    public ConfigSnapshot getSnapshot() {
+        return snapshot;
     }
 
     public String getMessage(String key) {
@@ -48,67 +54,87 @@ public class ConfigManager {
     }
 
     public int getCollectionSpeed() {
-        return config.getInt("settings.collection-speed", 20);
+        return snapshot.getCollectionSpeed();
+    }
+
+    public String getCollectionMode() {
+        return snapshot.getCollectionMode();
+    }
+
+    public int getFallbackSweepInterval() {
+        return snapshot.getFallbackSweepInterval();
+    }
+
+    public int getMaxCollectionInterval() {
+        return snapshot.getMaxCollectionInterval();
+    }
+
+    public double getCollectionTickBudget() {
+        return snapshot.getCollectionTickBudget();
+    }
+
+    public int getMinCollectionsPerTick() {
+        return snapshot.getMinCollectionsPerTick();
     }
 
     public int getCollectionEffectCooldown() {
-        return config.getInt("settings.collection-effect-cooldown", 100);
+        return snapshot.getCollectionEffectCooldown();
     }
 
     public int getHappyVillagerParticleFrequency() {
-        return config.getInt("settings.happy-villager-particle-frequency", 60);
+        return snapshot.getHappyVillagerParticleFrequency();
     }
 
     public int getMaxCollectionHeight() {
-        return config.getInt("settings.max-collection-height", 319);
+        return snapshot.getMaxCollectionHeight();
     }
 
     public int getMinCollectionHeight() {
-        return config.getInt("settings.min-collection-height", -64);
+        return snapshot.getMinCollectionHeight();
     }
 
     public int getMaxCollectorsPerPlayer() {
-        return config.getInt("settings.max-collectors-per-player", 10);
+        return snapshot.getMaxCollectorsPerPlayer();
     }
 
     public int getDefaultChargeMinutes() {
-        return config.getInt("settings.default-charge-minutes", 60);
+        return snapshot.getDefaultChargeMinutes();
     }
 
     public double getRechargeCostPerMinute() {
-        return config.getDouble("settings.recharge-cost-per-minute", 100.0);
+        return snapshot.getRechargeCostPerMinute();
+    }
+
+    public int getSettlementInterval() {
+        return snapshot.getSettlementInterval();
+    }
+
+    public boolean isPauseChargeWhenUnloaded() {
+        return snapshot.isPauseChargeWhenUnloaded();
     }
 
     public int getAutosellInterval() {
-        return config.getInt("settings.autosell-interval", 60);
+        return snapshot.getAutosellInterval();
     }
 
     public Set<Material> getCollectibleItems() {
-        List<String> itemNames = config.getStringList("collectible-items");
-        return itemNames.stream()
-                .map(String::toUpperCase)
-                .map(name -> {
-                    try {
-                        return Material.valueOf(name);
-                    } catch (IllegalArgumentException e) {
-                        plugin.getLogger().warning("Invalid material in config: " + name);
-                        return null;
-                    }
-                })
-                .filter(material -> material != null)
-                .collect(Collectors.toSet());
+        return snapshot.getCollectibleItems();
+    }
+
+    public boolean isCollectible(Material material) {
+        return snapshot.isCollectible(material);
     }
 
     public List<String> getHologramLines() {
-        return config.getStringList("hologram.lines");
+        return snapshot.getHologramLines();
     }
 
     public double getHologramHeightOffset() {
-        return config.getDouble("hologram.height-offset", 2.0);
+        return snapshot.getHologramHeightOffset();
     }
 
     public int getHologramUpdateInterval() {
-        return config.getInt("hologram.update-interval", 20);
+        return snapshot.getHologramUpdateInterval();
     }
 
     public String getSound(String key) {
@@ -155,6 +181,30 @@ public class ConfigManager {
         return config.getString("storage.type", "FILE").toUpperCase();
     }
 
+    public int getWriteBatchSize() {
+        return config.getInt("storage.write-batch-size", 500);
+    }
+
+    public int getAutosaveInterval() {
+        return config.getInt("storage.autosave-interval", 300);
+    }
+
+    public int getShutdownSaveTimeout() {
+        return config.getInt("storage.shutdown-save-timeout", 30);
+    }
+
+    public long getJournalCompactThreshold() {
+        return Math.max(64, config.getLong("storage.journal.compact-threshold-kb", 4096)) * 1024L;
+    }
+
+    public boolean isJournalFsync() {
+        return config.getBoolean("storage.journal.fsync", true);
+    }
+
+    public String getSQLiteFile() {
+        return config.getString("storage.sqlite.file", "collectors.db");
+    }
+
     public String getMySQLHost() {
         return config.getString("storage.mysql.host", "localhost");
     }
@@ -200,7 +250,11 @@ public class ConfigManager {
     }
 
     public String getBlockType() {
-        return config.getString("block.type", "BEACON").toUpperCase();
+        return snapshot.getBlockType();
+    }
+
+    public Material getBlockMaterial() {
+        return snapshot.getBlockMaterial();
     }
 
     public String getEconomyPlugin() {
@@ -216,10 +270,10 @@ public class ConfigManager {
     }
 
     public String getHologramProvider() {
-        return config.getString("settings.hologram-provider", "AUTO");
+        return snapshot.getHologramProvider();
     }
 
     public String getHologramBackground() {
-        return config.getString("hologram.background", "TRANSPARENT");
+        return snapshot.getHologramBackground();
     }
 }
@@ -0,0 +1,274 @@
+package com.swevmc.managers;
+
+import com.swevmc.managers.hologram.HologramTemplate;
+import org.bukkit.Material;
+import org.bukkit.Particle;
+import org.bukkit.Sound;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.FileConfiguration;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Logger;
+
+/**
+ * Typed, immutable view of config.yml compiled once per load. Hot paths read
+ * plain fields from here instead of walking the YAML tree.
+ */
+public final class ConfigSnapshot {
+
+    private final String collectionMode;
+    private final int collectionSpeed;
+    private final int fallbackSweepInterval;
+    private final int maxCollectionInterval;
+    private final double collectionTickBudget;
+    private final int minCollectionsPerTick;
+    private final int collectionEffectCooldown;
+    private final int happyVillagerParticleFrequency;
+    private final int maxCollectionHeight;
+    private final int minCollectionHeight;
+    private final int maxCollectorsPerPlayer;
+    private final int defaultChargeMinutes;
+    private final double rechargeCostPerMinute;
+    private final int autosellInterval;
+    private final int settlementInterval;
+    private final boolean pauseChargeWhenUnloaded;
+
+    private final long[] collectibleBits;
+    private final Set<Material> collectibleItems;
+    private final Map<String, Sound> sounds;
+    private final Map<String, Particle> effects;
+
+    private final String blockType;
+    private final Material blockMaterial;
+
+    private final List<String> hologramLines;
+    private final HologramTemplate hologramTemplate;
+    private final double hologramHeightOffset;
+    private final int hologramUpdateInterval;
+    private final int hologramNearDistance;
+    private final int hologramFarDistance;
+    private final int hologramFarUpdateInterval;
+    private final String hologramProvider;
+    private final String hologramBackground;
+
+    public ConfigSnapshot(FileConfiguration config, Logger logger) {
+        this.collectionMode = config.getString("settings.collection-mode", "EVENT").toUpperCase();
+        this.collectionSpeed = config.getInt("settings.collection-speed", 20);
+        this.fallbackSweepInterval = config.getInt("settings.fallback-sweep-interval", 600);
+        this.maxCollectionInterval = config.getInt("settings.max-collection-interval", 1200);
+        this.collectionTickBudget = config.getDouble("settings.collection-tick-budget-ms", 2.0);
+        this.minCollectionsPerTick = config.getInt("settings.min-collections-per-tick", 1);
+        this.collectionEffectCooldown = config.getInt("settings.collection-effect-cooldown", 100);
+        this.happyVillagerParticleFrequency = config.getInt("settings.happy-villager-particle-frequency", 60);
+        this.maxCollectionHeight = config.getInt("settings.max-collection-height", 319);
+        this.minCollectionHeight = config.getInt("settings.min-collection-height", -64);
+        this.maxCollectorsPerPlayer = config.getInt("settings.max-collectors-per-player", 10);
+        this.defaultChargeMinutes = config.getInt("settings.default-charge-minutes", 60);
+        this.rechargeCostPerMinute = config.getDouble("settings.recharge-cost-per-minute", 100.0);
+        this.autosellInterval = config.getInt("settings.autosell-interval", 60);
+        this.settlementInterval = config.getInt("settings.settlement-interval", autosellInterval);
+        this.pauseChargeWhenUnloaded = config.getBoolean("settings.pause-charge-when-unloaded", false);
+
+        Material[] materials = Material.values();
+        this.collectibleBits = new long[(materials.length + 63) >>> 6];
+        Set<Material> collectible = EnumSet.noneOf(Material.class);
+        for (String name : config.getStringList("collectible-items")) {
+            try {
+                Material material = Material.valueOf(name.toUpperCase());
+                collectible.add(material);
+                collectibleBits[material.ordinal() >>> 6] |= 1L << material.ordinal();
+            } catch (IllegalArgumentException e) {
+                logger.warning("Invalid material in config: " + name);
+            }
+        }
+        this.collectibleItems = Collections.unmodifiableSet(collectible);
+
+        this.sounds = Collections.unmodifiableMap(resolveSounds(config.getConfigurationSection("sounds"), logger));
+        this.effects = Collections.unmodifiableMap(resolveEffects(config.getConfigurationSection("effects"), logger));
+
+        this.blockType = config.getString("block.type", "BEACON").toUpperCase();
+        switch (blockType) {
+            case "BEACON":
+            default:
+                this.blockMaterial = Material.BEACON;
+                break;
+        }
+
+        this.hologramLines = List.copyOf(config.getStringList("hologram.lines"));
+        this.hologramTemplate = HologramTemplate.compile(hologramLines);
+        this.hologramHeightOffset = config.getDouble("hologram.height-offset", 2.0);
+        this.hologramUpdateInterval = config.getInt("hologram.update-interval", 20);
+        this.hologramNearDistance = config.getInt("hologram.lod.near-distance", 32);
+        this.hologramFarDistance = Math.max(hologramNearDistance, config.getInt("hologram.lod.far-distance", 96));
+        this.hologramFarUpdateInterval = config.getInt("hologram.lod.far-update-interval", 10);
+        this.hologramProvider = config.getString("settings.hologram-provider", "AUTO");
+        this.hologramBackground = config.getString("hologram.background", "TRANSPARENT");
+    }
+
+    @SuppressWarnings("deprecation")
+    private static Map<String, Sound> resolveSounds(ConfigurationSection section, Logger logger) {
+        Map<String, Sound> resolved = new HashMap<>();
+        if (section == null) {
+            return resolved;
+        }
+
+        for (String key : section.getKeys(false)) {
+            String name = section.getString(key, "");
+            try {
+                resolved.put(key, Sound.valueOf(name.toUpperCase()));
+            } catch (IllegalArgumentException e) {
+                logger.warning("Invalid sound in config for " + key + ": " + name);
+            }
+        }
+        return resolved;
+    }
+
+    private static Map<String, Particle> resolveEffects(ConfigurationSection section, Logger logger) {
+        Map<String, Particle> resolved = new HashMap<>();
+        if (section == null) {
+            return resolved;
+        }
+
+        for (String key : section.getKeys(false)) {
+            String name = section.getString(key, "");
+            try {
+                resolved.put(key, Particle.valueOf(name.toUpperCase()));
+            } catch (IllegalArgumentException e) {
+                logger.warning("Invalid particle in config for " + key + ": " + name);
+            }
+        }
+        return resolved;
+    }
+
+    public boolean isCollectible(Material material) {
+        int ordinal = material.ordinal();
+        return (collectibleBits[ordinal >>> 6] & (1L << ordinal)) != 0;
+    }
+
+    public Sound getSound(String key, Sound fallback) {
+        Sound sound = sounds.get(key);
+        return sound != null ? sound : fallback;
+    }
+
+    public Particle getEffect(String key, Particle fallback) {
+        Particle particle = effects.get(key);
+        return particle != null ? particle : fallback;
+    }
+
+    public String getCollectionMode() {
+        return collectionMode;
+    }
+
+    public int getCollectionSpeed() {
+        return collectionSpeed;
+    }
+
+    public int getFallbackSweepInterval() {
+        return fallbackSweepInterval;
+    }
+
+    public int getMaxCollectionInterval() {
+        return maxCollectionInterval;
+    }
+
+    public double getCollectionTickBudget() {
+        return collectionTickBudget;
+    }
+
+    public int getMinCollectionsPerTick() {
+        return minCollectionsPerTick;
+    }
+
+    public int getCollectionEffectCooldown() {
+        return collectionEffectCooldown;
+    }
+
+    public int getHappyVillagerParticleFrequency() {
+        return happyVillagerParticleFrequency;
+    }
+
+    public int getMaxCollectionHeight() {
+        return maxCollectionHeight;
+    }
+
+    public int getMinCollectionHeight() {
+        return minCollectionHeight;
+    }
+
+    public int getMaxCollectorsPerPlayer() {
+        return maxCollectorsPerPlayer;
+    }
+
+    public int getDefaultChargeMinutes() {
+        return defaultChargeMinutes;
+    }
+
+    public double getRechargeCostPerMinute() {
+        return rechargeCostPerMinute;
+    }
+
+    public int getAutosellInterval() {
+        return autosellInterval;
+    }
+
+    public int getSettlementInterval() {
+        return settlementInterval;
+    }
+
+    public boolean isPauseChargeWhenUnloaded() {
+        return pauseChargeWhenUnloaded;
+    }
+
+    public Set<Material> getCollectibleItems() {
+        return collectibleItems;
+    }
+
+    public String getBlockType() {
+        return blockType;
+    }
+
+    public Material getBlockMaterial() {
+        return blockMaterial;
+    }
+
+    public List<String> getHologramLines() {
+        return hologramLines;
+    }
+
+    public HologramTemplate getHologramTemplate() {
+        return hologramTemplate;
+    }
+
+    public double getHologramHeightOffset() {
+        return hologramHeightOffset;
+    }
+
+    public int getHologramUpdateInterval() {
+        return hologramUpdateInterval;
+    }
+
+    public int getHologramNearDistance() {
+        return hologramNearDistance;
+    }
+
+    public int getHologramFarDistance() {
+        return hologramFarDistance;
+    }
+
+    public int getHologramFarUpdateInterval() {
+        return hologramFarUpdateInterval;
+    }
+
+    public String getHologramProvider() {
+        return hologramProvider;
+    }
+
+    public String getHologramBackground() {
+        return hologramBackground;
+    }
+}
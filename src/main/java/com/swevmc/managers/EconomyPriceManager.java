@@ -2,31 +2,67 @@ package com.swevmc.managers;
 
 import com.swevmc.scc;
 import org.bukkit.Material;
+import org.bukkit.event.Event;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+import org.bukkit.event.server.PluginEnableEvent;
+import org.bukkit.inventory.ItemStack;
 import org.bukkit.plugin.Plugin;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.Arrays;
 import java.util.logging.Level;
 
 public class EconomyPriceManager {
 
+    private static final String SHOPGUIPLUS_API = "net.brcdev.shopgui.ShopGuiPlusApi";
+    private static final String SHOPGUIPLUS_RELOAD_EVENT = "net.brcdev.shopgui.event.ShopsPostLoadEvent";
+    private static final String ECONOMYSHOPGUI_API = "com.github.sanctum.economyshopgui.api.EconomyShopGUI";
+    private static final String ECONOMYSHOPGUI_RELOAD_EVENT = "me.gypopo.economyshopgui.api.events.ShopItemsLoadEvent";
+
+    private enum Source {
+        SHOPGUIPLUS,
+        VAULT,
+        ECONOMYSHOPGUI,
+        FALLBACK
+    }
+
     private final scc plugin;
     private final ConfigManager configManager;
+    private final Listener reloadListener = new Listener() {
+    };
     private Plugin economyPlugin;
     private String economyPluginName;
+    private Source source = Source.FALLBACK;
+
+    private MethodHandle priceHandle;
+    private volatile double[] prices = new double[0];
+    private volatile double fallbackPrice;
 
     public EconomyPriceManager(scc plugin) {
         this.plugin = plugin;
         this.configManager = plugin.getConfigManager();
         initializeEconomyPlugin();
+        rebuildPriceTable();
     }
 
     private void initializeEconomyPlugin() {
+        HandlerList.unregisterAll(reloadListener);
         economyPluginName = configManager.getEconomyPlugin();
+        priceHandle = null;
+        source = Source.FALLBACK;
 
         switch (economyPluginName.toUpperCase()) {
             case "SHOPGUIPLUS":
                 economyPlugin = plugin.getServer().getPluginManager().getPlugin("ShopGUIPlus");
                 if (economyPlugin != null && economyPlugin.isEnabled()) {
                     plugin.getLogger().info("Successfully connected to ShopGUIPlus for item pricing");
+                    source = Source.SHOPGUIPLUS;
+                    priceHandle = resolveShopGUIPlusHandle();
+                    registerReloadEvent(SHOPGUIPLUS_RELOAD_EVENT);
                 } else {
                     plugin.getLogger().warning("ShopGUIPlus not found or not enabled!");
                     economyPlugin = null;
@@ -37,6 +73,7 @@ public class EconomyPriceManager {
                 economyPlugin = plugin.getServer().getPluginManager().getPlugin("Vault");
                 if (economyPlugin != null && economyPlugin.isEnabled()) {
                     plugin.getLogger().info("Successfully connected to Vault for item pricing");
+                    source = Source.VAULT;
                 } else {
                     plugin.getLogger().warning("Vault not found or not enabled!");
                     economyPlugin = null;
@@ -47,6 +84,9 @@ public class EconomyPriceManager {
                 economyPlugin = plugin.getServer().getPluginManager().getPlugin("EconomyShopGUI");
                 if (economyPlugin != null && economyPlugin.isEnabled()) {
                     plugin.getLogger().info("Successfully connected to EconomyShopGUI for item pricing");
+                    source = Source.ECONOMYSHOPGUI;
+                    priceHandle = resolveEconomyShopGUIHandle();
+                    registerReloadEvent(ECONOMYSHOPGUI_RELOAD_EVENT);
                 } else {
                     plugin.getLogger().warning("EconomyShopGUI not found or not enabled!");
                     economyPlugin = null;
@@ -57,6 +97,9 @@ public class EconomyPriceManager {
                 economyPlugin = plugin.getServer().getPluginManager().getPlugin("EconomyShopGUIPremium");
                 if (economyPlugin != null && economyPlugin.isEnabled()) {
                     plugin.getLogger().info("Successfully connected to EconomyShopGUIPremium for item pricing");
+                    source = Source.ECONOMYSHOPGUI;
+                    priceHandle = resolveEconomyShopGUIHandle();
+                    registerReloadEvent(ECONOMYSHOPGUI_RELOAD_EVENT);
                 } else {
                     plugin.getLogger().warning("EconomyShopGUIPremium not found or not enabled!");
                     economyPlugin = null;
@@ -69,94 +112,111 @@ public class EconomyPriceManager {
                 economyPlugin = null;
                 break;
         }
-    }
 
-    public double getItemPrice(Material material) {
         if (economyPlugin == null) {
-            return configManager.getFallbackPrice();
+            registerPluginEnableEvent();
         }
+    }
 
-        double price = 0.0;
-
+    private MethodHandle resolveShopGUIPlusHandle() {
         try {
-            switch (economyPluginName.toUpperCase()) {
-                case "SHOPGUIPLUS":
-                    price = getShopGUIPlusPrice(material);
-                    break;
-                case "VAULT":
-                    price = getVaultPrice(material);
-                    break;
-                case "ECONOMYSHOPGUI":
-                    price = getEconomyShopGUIPrice(material);
-                    break;
-                case "ECONOMYSHOPGUIPREMIUM":
-                    price = getEconomyShopGUIPremiumPrice(material);
-                    break;
-                default:
-                    price = configManager.getFallbackPrice();
-                    break;
-            }
-        } catch (Exception e) {
-            plugin.getLogger().log(Level.WARNING,
-                    "Error getting price for " + material.name() + " from " + economyPluginName, e);
-            price = configManager.getFallbackPrice();
+            Class<?> apiClass = Class.forName(SHOPGUIPLUS_API);
+            return MethodHandles.publicLookup().findStatic(apiClass, "getItemStackPriceSell",
+                    MethodType.methodType(double.class, ItemStack.class));
+        } catch (ReflectiveOperationException e) {
+            plugin.getLogger().log(Level.WARNING, "Failed to hook ShopGUIPlus pricing API", e);
+            return null;
         }
-
-        price *= configManager.getPriceMultiplier();
-
-        if (economyPlugin != null && economyPlugin.isEnabled()) {
-            return getChestShopPrice(material);
-        }
-
-        return configManager.getFallbackPrice();
     }
 
-    private double getEconomyShopGUIPrice(Material material) {
+    private MethodHandle resolveEconomyShopGUIHandle() {
         try {
-            Class<?> economyShopGUIClass = Class.forName("com.github.sanctum.economyshopgui.api.EconomyShopGUI");
-            Object api = economyShopGUIClass.getMethod("getInstance").invoke(null);
-
-            Object priceInfo = economyShopGUIClass.getMethod("getSellPrice", String.class)
-                    .invoke(api, material.name().toLowerCase());
-
-            if (priceInfo != null) {
-                return (Double) priceInfo;
-            }
-        } catch (Exception e) {
-            plugin.getLogger().log(Level.WARNING, "Failed to get EconomyShopGUI price for " + material.name(), e);
+            Class<?> apiClass = Class.forName(ECONOMYSHOPGUI_API);
+            MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+            Object api = lookup.findStatic(apiClass, "getInstance", MethodType.methodType(apiClass)).invoke();
+            return lookup.findVirtual(apiClass, "getSellPrice", MethodType.methodType(Double.class, String.class))
+                    .bindTo(api);
+        } catch (Throwable e) {
+            plugin.getLogger().log(Level.WARNING, "Failed to hook " + economyPluginName + " pricing API", e);
+            return null;
         }
-
-        return configManager.getFallbackPrice();
     }
 
-    private double getEconomyShopGUIPremiumPrice(Material material) {
+    private void registerReloadEvent(String eventClassName) {
         try {
+            Class<? extends Event> eventClass = Class.forName(eventClassName).asSubclass(Event.class);
+            plugin.getServer().getPluginManager().registerEvent(eventClass, reloadListener, EventPriority.MONITOR,
+                    (listener, event) -> {
+                        if (eventClass.isInstance(event)) {
+                            rebuildPriceTable();
+                        }
+                    }, plugin);
+        } catch (ClassNotFoundException | ClassCastException e) {
+            plugin.getLogger().info("Shop reload event not available, prices refresh on /cc reload only");
+        }
+    }
 
-            Class<?> economyShopGUIClass = Class.forName("com.github.sanctum.economyshopgui.api.EconomyShopGUI");
-            Object api = economyShopGUIClass.getMethod("getInstance").invoke(null);
+    private void registerPluginEnableEvent() {
+        plugin.getServer().getPluginManager().registerEvent(PluginEnableEvent.class, reloadListener,
+                EventPriority.MONITOR, (listener, event) -> {
+                    if (event instanceof PluginEnableEvent
+                            && ((PluginEnableEvent) event).getPlugin().getName().equalsIgnoreCase(economyPluginName)) {
+                        reload();
+                    }
+                }, plugin);
+    }
 
-            Object priceInfo = economyShopGUIClass.getMethod("getSellPrice", String.class)
-                    .invoke(api, material.name().toLowerCase());
+    private void rebuildPriceTable() {
+        double fallback = configManager.getFallbackPrice();
+        double multiplier = configManager.getPriceMultiplier();
+        Material[] materials = Material.values();
+        double[] table = new double[materials.length];
 
-            if (priceInfo != null) {
-                return (Double) priceInfo;
+        if (economyPlugin == null) {
+            Arrays.fill(table, fallback);
+        } else {
+            double fallbackWithMultiplier = fallback * multiplier;
+            Arrays.fill(table, fallbackWithMultiplier);
+
+            if (priceHandle != null) {
+                try {
+                    for (Material material : materials) {
+                        if (material.isItem() && !material.isLegacy()) {
+                            table[material.ordinal()] = lookupPrice(material, fallback) * multiplier;
+                        }
+                    }
+                } catch (Throwable e) {
+                    plugin.getLogger().log(Level.WARNING, "Error reading prices from " + economyPluginName
+                            + ", using fallback pricing until the shop reloads", e);
+                    Arrays.fill(table, fallbackWithMultiplier);
+                }
             }
-        } catch (Exception e) {
-            plugin.getLogger().log(Level.WARNING, "Failed to get EconomyShopGUIPremium price for " + material.name(),
-                    e);
+            fallback = fallbackWithMultiplier;
         }
 
-        return configManager.getFallbackPrice();
+        fallbackPrice = fallback;
+        prices = table;
     }
 
-    private double getChestShopPrice(Material material) {
-        try {
-            return configManager.getFallbackPrice();
-        } catch (Exception e) {
-            plugin.getLogger().log(Level.WARNING, "Failed to get ChestShop price for " + material.name(), e);
+    private double lookupPrice(Material material, double fallback) throws Throwable {
+        switch (source) {
+            case SHOPGUIPLUS: {
+                double price = (double) priceHandle.invokeExact(new ItemStack(material));
+                return price >= 0 ? price : fallback;
+            }
+            case ECONOMYSHOPGUI: {
+                Double price = (Double) priceHandle.invokeExact(material.name().toLowerCase());
+                return price != null ? price : fallback;
+            }
+            default:
+                return fallback;
         }
+    }
 
-        return configManager.getFallbackPrice();
+    public double getItemPrice(Material material) {
+        double[] table = prices;
+        int ordinal = material.ordinal();
+        return ordinal < table.length ? table[ordinal] : fallbackPrice;
     }
 
     public boolean isEconomyPluginAvailable() {
@@ -169,8 +229,10 @@ public class EconomyPriceManager {
 
     public void reload() {
         initializeEconomyPlugin();
+        rebuildPriceTable();
     }
 
     public void reloadPrices() {
+        reload();
     }
 }
@@ -7,18 +7,47 @@ import org.bukkit.Location;
 import com.swevmc.managers.hologram.DecentHologramsProvider;
 import com.swevmc.managers.hologram.FancyHologramsProvider;
 import com.swevmc.managers.hologram.HologramProvider;
+import com.swevmc.managers.hologram.HologramTemplate;
 import com.swevmc.managers.hologram.HolographicDisplaysProvider;
+import com.swevmc.managers.hologram.NativeHologramProvider;
+import com.swevmc.utils.ColorUtils;
 import org.bukkit.Bukkit;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
 
 import org.bukkit.scheduler.BukkitTask;
 
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 public class HologramManager {
 
+    private static final String NO_CHARGE_TEXT = ColorUtils.translateColors("&cNo Charge");
+    private static final String TIME_COLOR = ColorUtils.translateColors("&e");
+    private static final String[] BATTERY_TEXT = buildBatteryText();
+
+    private static final int LOD_NONE = 0;
+    private static final int LOD_FAR = 1;
+    private static final int LOD_NEAR = 2;
+
+    private static final int STATS_WINDOW_TICKS = 1200;
+
     private final scc plugin;
     private HologramProvider provider;
     private BukkitTask updateTask;
+    private BukkitTask viewerTask;
+    private final Location viewerLocation = new Location(null, 0, 0, 0);
+    private int viewerSample;
+    private int refreshCursor;
+    private int windowTicks;
+    private int windowSlices;
+    private long windowNanos;
+    private long windowMaxNanos;
+    private long lastAverageSliceNanos;
+    private long lastMaxSliceNanos;
+    private final Map<UUID, RenderState> renderStates = new HashMap<>();
 
     public HologramManager(scc plugin) {
         this.plugin = plugin;
@@ -27,6 +56,7 @@ public class HologramManager {
     public boolean init() {
         if (initializeProvider()) {
             startUpdateTask();
+            viewerTask = Bukkit.getScheduler().runTaskTimer(plugin, this::sampleViewers, 20L, 20L);
             return true;
         }
         return false;
@@ -48,7 +78,14 @@ public class HologramManager {
                 provider = new HolographicDisplaysProvider(plugin);
                 plugin.getLogger().info("Hooked into HolographicDisplays!");
                 return true;
+            } else {
+                provider = new NativeHologramProvider(plugin);
+                plugin.getLogger().info("No hologram plugin found, using built-in text displays");
+                return true;
             }
+        } else if (providerName.equalsIgnoreCase("NATIVE")) {
+            provider = new NativeHologramProvider(plugin);
+            return true;
         } else if (providerName.equalsIgnoreCase("FANCY")) {
             if (Bukkit.getPluginManager().isPluginEnabled("FancyHolograms")) {
                 provider = new FancyHologramsProvider(plugin);
@@ -70,39 +107,251 @@ public class HologramManager {
     }
 
     private void startUpdateTask() {
+        updateTask = Bukkit.getScheduler().runTaskTimer(plugin, this::refreshSlice, 1L, 1L);
+    }
 
-        updateTask = Bukkit.getScheduler().runTaskTimerAsynchronously(plugin, () -> {
-            if (provider == null)
-                return;
+    private void refreshSlice() {
+        ChunkCollectorManager collectorManager = plugin.getChunkCollectorManager();
+        if (provider == null || collectorManager == null) {
+            return;
+        }
 
-            Bukkit.getScheduler().runTask(plugin, () -> {
-                for (ChunkCollector collector : plugin.getChunkCollectorManager().getCollectors()) {
-                    if (collector.isActive()) {
-                        provider.updateHologram(collector);
-                    }
+        LoadedCollectorSet collectors = collectorManager.getLoadedCollectors();
+        int size = collectors.size();
+        if (size > 0) {
+            int interval = Math.max(1, plugin.getConfigManager().getSnapshot().getHologramUpdateInterval());
+            int sliceSize = (size + interval - 1) / interval;
+
+            long start = System.nanoTime();
+            for (int i = 0; i < sliceSize; i++) {
+                if (refreshCursor >= collectors.size()) {
+                    refreshCursor = 0;
                 }
-            });
-        }, 60L, 60L);
+
+                refreshHologram(collectors.get(refreshCursor++));
+            }
+            recordSlice(System.nanoTime() - start);
+        }
+
+        if (++windowTicks >= STATS_WINDOW_TICKS) {
+            lastAverageSliceNanos = windowSlices > 0 ? windowNanos / windowSlices : 0;
+            lastMaxSliceNanos = windowMaxNanos;
+            windowTicks = 0;
+            windowSlices = 0;
+            windowNanos = 0;
+            windowMaxNanos = 0;
+        }
+    }
+
+    private void recordSlice(long nanos) {
+        windowSlices++;
+        windowNanos += nanos;
+        windowMaxNanos = Math.max(windowMaxNanos, nanos);
+    }
+
+    public double getAverageSliceMillis() {
+        return lastAverageSliceNanos / 1_000_000.0;
+    }
+
+    public double getMaxSliceMillis() {
+        return lastMaxSliceNanos / 1_000_000.0;
     }
 
     public void createHologram(ChunkCollector collector) {
         if (provider != null) {
-            provider.createHologram(collector);
+            RenderState state = renderStates.computeIfAbsent(collector.getUuid(), uuid -> new RenderState());
+            List<String> lines = renderLines(collector, state);
+            provider.createHologram(collector, lines);
+            state.lines = lines;
+            state.stale = false;
         }
     }
 
+    /**
+     * Redraws after a state change (collection, recharge, depletion,
+     * autosell). Viewed holograms redraw at once regardless of LOD; unviewed
+     * ones are marked stale and redrawn when a player next comes in range.
+     */
     public void updateHologram(ChunkCollector collector) {
-        if (provider != null) {
-            provider.updateHologram(collector);
+        if (provider == null) {
+            return;
+        }
+
+        RenderState state = renderStates.computeIfAbsent(collector.getUuid(), uuid -> new RenderState());
+        state.stale = true;
+        if (viewerLevel(state) != LOD_NONE) {
+            redraw(collector, state, Bukkit.getCurrentTick());
+        }
+    }
+
+    private void refreshHologram(ChunkCollector collector) {
+        RenderState state = renderStates.computeIfAbsent(collector.getUuid(), uuid -> new RenderState());
+        int currentTick = Bukkit.getCurrentTick();
+        if (isUpdateDue(collector, state, currentTick)) {
+            redraw(collector, state, currentTick);
+        }
+    }
+
+    private void redraw(ChunkCollector collector, RenderState state, int currentTick) {
+        state.lastUpdateTick = currentTick;
+        state.stale = false;
+        List<String> lines = renderLines(collector, state);
+        if (lines.equals(state.lines)) {
+            return;
+        }
+
+        provider.updateHologram(collector, lines, state.lines);
+        state.lines = lines;
+    }
+
+    private int viewerLevel(RenderState state) {
+        return state.viewerSample == viewerSample ? state.viewerLevel : LOD_NONE;
+    }
+
+    private boolean isUpdateDue(ChunkCollector collector, RenderState state, int currentTick) {
+        int level = viewerLevel(state);
+        if (level == LOD_NONE) {
+            return false;
+        }
+        if (state.stale) {
+            return true;
+        }
+        if (!collector.isActive()) {
+            return false;
+        }
+        if (level == LOD_NEAR) {
+            return true;
+        }
+        int farInterval = plugin.getConfigManager().getSnapshot().getHologramFarUpdateInterval() * 20;
+        return currentTick - state.lastUpdateTick >= farInterval;
+    }
+
+    private void sampleViewers() {
+        ChunkCollectorManager collectorManager = plugin.getChunkCollectorManager();
+        if (collectorManager == null) {
+            return;
+        }
+
+        ConfigSnapshot config = plugin.getConfigManager().getSnapshot();
+        double nearSquared = (double) config.getHologramNearDistance() * config.getHologramNearDistance();
+        double farSquared = (double) config.getHologramFarDistance() * config.getHologramFarDistance();
+        int chunkRadius = (config.getHologramFarDistance() >> 4) + 1;
+
+        viewerSample++;
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            Location location = player.getLocation(viewerLocation);
+            World world = location.getWorld();
+            int chunkX = location.getBlockX() >> 4;
+            int chunkZ = location.getBlockZ() >> 4;
+
+            for (int dx = -chunkRadius; dx <= chunkRadius; dx++) {
+                for (int dz = -chunkRadius; dz <= chunkRadius; dz++) {
+                    ChunkCollector collector = collectorManager.getCollector(world, chunkX + dx, chunkZ + dz);
+                    if (collector == null) {
+                        continue;
+                    }
+
+                    double x = collector.getBlockX() + 0.5 - location.getX();
+                    double y = collector.getBlockY() + 0.5 - location.getY();
+                    double z = collector.getBlockZ() + 0.5 - location.getZ();
+                    double distanceSquared = x * x + y * y + z * z;
+                    if (distanceSquared > farSquared) {
+                        continue;
+                    }
+
+                    markViewed(collector, distanceSquared <= nearSquared ? LOD_NEAR : LOD_FAR);
+                }
+            }
+        }
+    }
+
+    private void markViewed(ChunkCollector collector, int level) {
+        RenderState state = renderStates.computeIfAbsent(collector.getUuid(), uuid -> new RenderState());
+        if (state.viewerSample != viewerSample) {
+            state.viewerSample = viewerSample;
+            state.viewerLevel = level;
+        } else if (level > state.viewerLevel) {
+            state.viewerLevel = level;
         }
     }
 
     public void removeHologram(ChunkCollector collector) {
+        renderStates.remove(collector.getUuid());
         if (provider != null) {
             provider.removeHologram(collector);
         }
     }
 
+    public void handleCollectorLoad(ChunkCollector collector) {
+        if (provider != null && provider.isChunkBound()) {
+            createHologram(collector);
+        }
+    }
+
+    public void handleCollectorUnload(ChunkCollector collector) {
+        if (provider != null && provider.isChunkBound()) {
+            removeHologram(collector);
+        }
+    }
+
+    private List<String> renderLines(ChunkCollector collector, RenderState state) {
+        HologramTemplate template = plugin.getConfigManager().getSnapshot().getHologramTemplate();
+        String[] values = state.values;
+
+        if (template.uses(HologramTemplate.AMOUNT)) {
+            double amount = collector.getTotalMoneyEarned();
+            if (values[HologramTemplate.AMOUNT] == null || amount != state.amount) {
+                state.amount = amount;
+                values[HologramTemplate.AMOUNT] = String.format("%.2f", amount);
+            }
+        }
+        if (template.uses(HologramTemplate.OWNER)) {
+            values[HologramTemplate.OWNER] = collector.getOwnerName();
+        }
+        if (template.uses(HologramTemplate.TIME)) {
+            long timeRemaining = collector.getTimeRemaining();
+            if (values[HologramTemplate.TIME] == null || timeRemaining != state.timeRemaining) {
+                state.timeRemaining = timeRemaining;
+                values[HologramTemplate.TIME] = formatTime(timeRemaining);
+            }
+        }
+        if (template.uses(HologramTemplate.BATTERY)) {
+            values[HologramTemplate.BATTERY] = BATTERY_TEXT[collector.getBatteryLevel()];
+        }
+
+        return template.render(values);
+    }
+
+    private static String formatTime(long timeRemaining) {
+        if (timeRemaining <= 0) {
+            return NO_CHARGE_TEXT;
+        }
+
+        long hours = timeRemaining / 3600;
+        long minutes = (timeRemaining % 3600) / 60;
+        long seconds = timeRemaining % 60;
+
+        StringBuilder time = new StringBuilder(16).append(TIME_COLOR);
+        if (hours > 0) {
+            time.append(hours).append("h ").append(minutes).append("m ");
+        } else if (minutes > 0) {
+            time.append(minutes).append("m ");
+        }
+        return time.append(seconds).append('s').toString();
+    }
+
+    private static String[] buildBatteryText() {
+        String[] text = new String[ChunkCollector.BATTERY_BARS + 1];
+        for (int level = 0; level < text.length; level++) {
+            StringBuilder battery = new StringBuilder();
+            for (int i = 0; i < ChunkCollector.BATTERY_BARS; i++) {
+                battery.append(i < level ? "&a|" : "&7|");
+            }
+            text[level] = ColorUtils.translateColors(battery.toString());
+        }
+        return text;
+    }
+
     public void removeHologram(UUID collectorUuid) {
 
     }
@@ -117,5 +366,21 @@ public class HologramManager {
         if (updateTask != null && !updateTask.isCancelled()) {
             updateTask.cancel();
         }
+        if (viewerTask != null && !viewerTask.isCancelled()) {
+            viewerTask.cancel();
+        }
+        renderStates.clear();
+    }
+
+    private static final class RenderState {
+
+        private final String[] values = new String[4];
+        private List<String> lines;
+        private boolean stale;
+        private double amount;
+        private long timeRemaining;
+        private int viewerSample = -1;
+        private int viewerLevel;
+        private int lastUpdateTick = Integer.MIN_VALUE / 2;
     }
 }
@@ -0,0 +1,74 @@
+package com.swevmc.managers;
+
+import com.swevmc.models.ChunkCollector;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Collectors whose chunk is currently loaded. Backed by a dense list so the
+ * per-tick loops can walk it by index; removal swaps the last entry into the
+ * freed slot. Main thread only.
+ */
+public class LoadedCollectorSet {
+
+    private final List<ChunkCollector> collectors = new ArrayList<>();
+    private final Map<ChunkCollector, Integer> slots = new IdentityHashMap<>();
+
+    public boolean add(ChunkCollector collector) {
+        if (slots.containsKey(collector)) {
+            return false;
+        }
+        slots.put(collector, collectors.size());
+        collectors.add(collector);
+        return true;
+    }
+
+    public boolean remove(ChunkCollector collector) {
+        Integer slot = slots.remove(collector);
+        if (slot == null) {
+            return false;
+        }
+
+        int lastIndex = collectors.size() - 1;
+        ChunkCollector last = collectors.remove(lastIndex);
+        if (slot != lastIndex) {
+            collectors.set(slot, last);
+            slots.put(last, slot);
+        }
+        return true;
+    }
+
+    public void removeWorld(UUID worldUid) {
+        for (int i = collectors.size() - 1; i >= 0; i--) {
+            ChunkCollector collector = collectors.get(i);
+            if (collector.getWorldUid().equals(worldUid)) {
+                remove(collector);
+            }
+        }
+    }
+
+    public boolean contains(ChunkCollector collector) {
+        return slots.containsKey(collector);
+    }
+
+    public ChunkCollector get(int index) {
+        return collectors.get(index);
+    }
+
+    public int size() {
+        return collectors.size();
+    }
+
+    public boolean isEmpty() {
+        return collectors.isEmpty();
+    }
+
+    public void clear() {
+        collectors.clear();
+        slots.clear();
+    }
+}
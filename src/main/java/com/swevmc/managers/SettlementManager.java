@@ -0,0 +1,196 @@
+package com.swevmc.managers;
+
+import com.swevmc.scc;
+import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Collects autosell proceeds per owner and pays them out once per settlement
+ * interval: one deposit and one message per owner, however many collectors
+ * contributed. Proceeds for offline owners and failed deposits go to a
+ * persisted ledger that is paid when the owner is next online.
+ */
+public class SettlementManager {
+
+    private static final long JOIN_SETTLE_DELAY = 40L;
+
+    private final scc plugin;
+    private final Map<UUID, PendingSettlement> pending = new HashMap<>();
+    private final Map<UUID, Double> ledger = new HashMap<>();
+    private final Object saveLock = new Object();
+    private BukkitTask settlementTask;
+    private boolean ledgerDirty;
+    private long ledgerVersion;
+    private long savedVersion;
+
+    public SettlementManager(scc plugin) {
+        this.plugin = plugin;
+    }
+
+    public void start() {
+        Map<UUID, Double> stored = plugin.getDataManager().loadPendingPayouts();
+        if (stored != null) {
+            ledger.putAll(stored);
+        }
+        if (!ledger.isEmpty()) {
+            plugin.getLogger().info("Loaded pending autosell payouts for " + ledger.size() + " players");
+        }
+
+        long period = Math.max(1, plugin.getConfigManager().getSettlementInterval()) * 20L;
+        settlementTask = plugin.getServer().getScheduler().runTaskTimer(plugin, this::settle, period, period);
+    }
+
+    public void shutdown() {
+        if (settlementTask != null) {
+            settlementTask.cancel();
+            settlementTask = null;
+        }
+        settlePending();
+        persistLedger(false);
+    }
+
+    public void credit(UUID ownerUuid, String ownerName, UUID collectorUuid, double amount) {
+        if (amount <= 0) {
+            return;
+        }
+
+        PendingSettlement settlement = pending.computeIfAbsent(ownerUuid, uuid -> new PendingSettlement(ownerName));
+        settlement.amount += amount;
+        settlement.collectors.add(collectorUuid);
+    }
+
+    public double getPendingPayout(UUID ownerUuid) {
+        return ledger.getOrDefault(ownerUuid, 0.0);
+    }
+
+    public void handleJoin(Player player) {
+        if (!ledger.containsKey(player.getUniqueId())) {
+            return;
+        }
+
+        plugin.getServer().getScheduler().runTaskLater(plugin, () -> {
+            if (player.isOnline() && payLedger(player)) {
+                persistLedger(true);
+            }
+        }, JOIN_SETTLE_DELAY);
+    }
+
+    public void settle() {
+        settlePending();
+        persistLedger(true);
+    }
+
+    private void settlePending() {
+        ConfigManager config = plugin.getConfigManager();
+        for (Map.Entry<UUID, PendingSettlement> entry : pending.entrySet()) {
+            PendingSettlement settlement = entry.getValue();
+
+            Player owner = plugin.getServer().getPlayer(entry.getKey());
+            if (owner == null || !owner.isOnline()) {
+                ledger.merge(entry.getKey(), settlement.amount, Double::sum);
+                ledgerDirty = true;
+                continue;
+            }
+
+            // Pay anything still owed from the ledger in the same deposit
+            Double owed = ledger.get(entry.getKey());
+            double total = owed != null ? settlement.amount + owed : settlement.amount;
+            String amount = String.format("%.2f", total);
+            if (!plugin.getEconomyManager().depositMoney(owner, total)) {
+                plugin.getLogger().warning("Failed to deposit $" + amount + " autosell earnings to "
+                        + settlement.ownerName + ", will retry");
+                ledger.merge(entry.getKey(), settlement.amount, Double::sum);
+                ledgerDirty = true;
+                continue;
+            }
+            if (owed != null) {
+                ledger.remove(entry.getKey());
+                ledgerDirty = true;
+            }
+
+            int collectors = settlement.collectors.size();
+            String message = collectors > 1
+                    ? config.getMessage("autosell-summary", "${amount}", amount,
+                            "${collectors}", String.valueOf(collectors))
+                    : config.getMessage("autosell-complete", "${amount}", amount);
+            owner.sendMessage(config.getPrefix() + message);
+        }
+        pending.clear();
+
+        Iterator<UUID> owners = ledger.keySet().iterator();
+        while (owners.hasNext()) {
+            Player owner = plugin.getServer().getPlayer(owners.next());
+            if (owner != null && owner.isOnline() && depositLedger(owner)) {
+                owners.remove();
+                ledgerDirty = true;
+            }
+        }
+    }
+
+    private boolean payLedger(Player player) {
+        if (!ledger.containsKey(player.getUniqueId()) || !depositLedger(player)) {
+            return false;
+        }
+
+        ledger.remove(player.getUniqueId());
+        ledgerDirty = true;
+        return true;
+    }
+
+    private boolean depositLedger(Player player) {
+        double total = ledger.get(player.getUniqueId());
+        String amount = String.format("%.2f", total);
+        if (!plugin.getEconomyManager().depositMoney(player, total)) {
+            plugin.getLogger().warning("Failed to deposit $" + amount + " pending autosell earnings to "
+                    + player.getName() + ", will retry");
+            return false;
+        }
+
+        ConfigManager config = plugin.getConfigManager();
+        player.sendMessage(config.getPrefix() + config.getMessage("offline-earnings", "${amount}", amount));
+        return true;
+    }
+
+    private void persistLedger(boolean async) {
+        if (!ledgerDirty) {
+            return;
+        }
+
+        ledgerDirty = false;
+        Map<UUID, Double> copy = new HashMap<>(ledger);
+        long version = ++ledgerVersion;
+        if (async) {
+            plugin.getServer().getScheduler().runTaskAsynchronously(plugin, () -> saveLedger(copy, version));
+        } else {
+            saveLedger(copy, version);
+        }
+    }
+
+    private void saveLedger(Map<UUID, Double> copy, long version) {
+        synchronized (saveLock) {
+            if (version < savedVersion) {
+                return;
+            }
+            savedVersion = version;
+            plugin.getDataManager().savePendingPayouts(copy);
+        }
+    }
+
+    private static final class PendingSettlement {
+
+        private final String ownerName;
+        private double amount;
+        private final Set<UUID> collectors = new HashSet<>();
+
+        private PendingSettlement(String ownerName) {
+            this.ownerName = ownerName;
+        }
+    }
+}
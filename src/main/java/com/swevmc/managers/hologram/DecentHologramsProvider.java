@@ -2,13 +2,11 @@ package com.swevmc.managers.hologram;
 
 import com.swevmc.scc;
 import com.swevmc.models.ChunkCollector;
-import com.swevmc.utils.ColorUtils;
 import eu.decentsoftware.holograms.api.DHAPI;
 import eu.decentsoftware.holograms.api.holograms.Hologram;
 import org.bukkit.Location;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 public class DecentHologramsProvider implements HologramProvider {
 
@@ -19,7 +17,7 @@ public class DecentHologramsProvider implements HologramProvider {
     }
 
     @Override
-    public void createHologram(ChunkCollector collector) {
+    public void createHologram(ChunkCollector collector, List<String> lines) {
         String hologramName = "collector_" + collector.getUuid().toString();
         Location location = collector.getLocation().clone().add(0.5,
                 plugin.getConfigManager().getHologramHeightOffset(), 0.5);
@@ -28,18 +26,24 @@ public class DecentHologramsProvider implements HologramProvider {
             DHAPI.removeHologram(hologramName);
         }
 
-        DHAPI.createHologram(hologramName, location, getFormattedLines(collector));
+        DHAPI.createHologram(hologramName, location, lines);
     }
 
     @Override
-    public void updateHologram(ChunkCollector collector) {
+    public void updateHologram(ChunkCollector collector, List<String> lines, List<String> previousLines) {
         String hologramName = "collector_" + collector.getUuid().toString();
         Hologram hologram = DHAPI.getHologram(hologramName);
 
-        if (hologram != null) {
-            DHAPI.setHologramLines(hologram, getFormattedLines(collector));
+        if (hologram == null) {
+            createHologram(collector, lines);
+        } else if (previousLines == null || previousLines.size() != lines.size()) {
+            DHAPI.setHologramLines(hologram, lines);
         } else {
-            createHologram(collector);
+            for (int i = 0; i < lines.size(); i++) {
+                if (!lines.get(i).equals(previousLines.get(i))) {
+                    DHAPI.setHologramLine(hologram, i, lines.get(i));
+                }
+            }
         }
     }
 
@@ -55,33 +59,4 @@ public class DecentHologramsProvider implements HologramProvider {
     public void removeHologram(Location location) {
 
     }
-
-    private List<String> getFormattedLines(ChunkCollector collector) {
-        List<String> lines = plugin.getConfigManager().getHologramLines();
-        return lines.stream().map(line -> {
-            line = line.replace("${amount}", String.format("%.2f", collector.getTotalMoneyEarned()));
-            line = line.replace("${owner}", collector.getOwnerName());
-            line = line.replace("${time}", formatTime(collector.getTimeRemaining()));
-            line = line.replace("${battery}", collector.getBatteryBars());
-            return ColorUtils.translateColors(line);
-        }).collect(Collectors.toList());
-    }
-
-    private String formatTime(long timeRemaining) {
-        if (timeRemaining <= 0) {
-            return "&cNo Charge";
-        }
-
-        long hours = timeRemaining / 3600;
-        long minutes = (timeRemaining % 3600) / 60;
-        long seconds = timeRemaining % 60;
-
-        if (hours > 0) {
-            return String.format("&e%dh %dm %ds", hours, minutes, seconds);
-        } else if (minutes > 0) {
-            return String.format("&e%dm %ds", minutes, seconds);
-        } else {
-            return String.format("&e%ds", seconds);
-        }
-    }
 }
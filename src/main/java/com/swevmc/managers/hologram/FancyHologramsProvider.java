@@ -2,14 +2,12 @@ package com.swevmc.managers.hologram;
 
 import com.swevmc.scc;
 import com.swevmc.models.ChunkCollector;
-import com.swevmc.utils.ColorUtils;
 import de.oliver.fancyholograms.api.FancyHologramsPlugin;
 import de.oliver.fancyholograms.api.data.TextHologramData;
 import de.oliver.fancyholograms.api.hologram.Hologram;
 import org.bukkit.Location;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 public class FancyHologramsProvider implements HologramProvider {
 
@@ -20,13 +18,13 @@ public class FancyHologramsProvider implements HologramProvider {
     }
 
     @Override
-    public void createHologram(ChunkCollector collector) {
+    public void createHologram(ChunkCollector collector, List<String> lines) {
         String hologramName = "collector_" + collector.getUuid().toString();
         Location location = collector.getLocation().clone().add(0.5,
                 plugin.getConfigManager().getHologramHeightOffset(), 0.5);
 
         TextHologramData data = new TextHologramData(hologramName, location);
-        data.setText(getFormattedLines(collector));
+        data.setText(lines);
         data.setBillboard(org.bukkit.entity.Display.Billboard.CENTER);
 
         String backgroundStr = plugin.getConfigManager().getHologramBackground();
@@ -65,15 +63,15 @@ public class FancyHologramsProvider implements HologramProvider {
     }
 
     @Override
-    public void updateHologram(ChunkCollector collector) {
+    public void updateHologram(ChunkCollector collector, List<String> lines, List<String> previousLines) {
         String hologramName = "collector_" + collector.getUuid().toString();
         Hologram hologram = FancyHologramsPlugin.get().getHologramManager().getHologram(hologramName).orElse(null);
 
         if (hologram != null && hologram.getData() instanceof TextHologramData textData) {
-            textData.setText(getFormattedLines(collector));
+            textData.setText(lines);
             hologram.updateHologram();
         } else {
-            createHologram(collector);
+            createHologram(collector, lines);
         }
     }
 
@@ -91,33 +89,4 @@ public class FancyHologramsProvider implements HologramProvider {
     public void removeHologram(Location location) {
 
     }
-
-    private List<String> getFormattedLines(ChunkCollector collector) {
-        List<String> lines = plugin.getConfigManager().getHologramLines();
-        return lines.stream().map(line -> {
-            line = line.replace("${amount}", String.format("%.2f", collector.getTotalMoneyEarned()));
-            line = line.replace("${owner}", collector.getOwnerName());
-            line = line.replace("${time}", formatTime(collector.getTimeRemaining()));
-            line = line.replace("${battery}", collector.getBatteryBars());
-            return ColorUtils.translateColors(line);
-        }).collect(Collectors.toList());
-    }
-
-    private String formatTime(long timeRemaining) {
-        if (timeRemaining <= 0) {
-            return "&cNo Charge";
-        }
-
-        long hours = timeRemaining / 3600;
-        long minutes = (timeRemaining % 3600) / 60;
-        long seconds = timeRemaining % 60;
-
-        if (hours > 0) {
-            return String.format("&e%dh %dm %ds", hours, minutes, seconds);
-        } else if (minutes > 0) {
-            return String.format("&e%dm %ds", minutes, seconds);
-        } else {
-            return String.format("&e%ds", seconds);
-        }
-    }
 }
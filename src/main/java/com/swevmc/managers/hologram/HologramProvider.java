@@ -3,12 +3,27 @@ package com.swevmc.managers.hologram;
 import com.swevmc.models.ChunkCollector;
 import org.bukkit.Location;
 
+import java.util.List;
+
 public interface HologramProvider {
-    void createHologram(ChunkCollector collector);
+    void createHologram(ChunkCollector collector, List<String> lines);
 
-    void updateHologram(ChunkCollector collector);
+    /**
+     * Pushes new lines for an existing hologram. {@code previousLines} is what
+     * was last rendered for this collector, or null if unknown; providers that
+     * can address single lines only need to send the indices that differ.
+     */
+    void updateHologram(ChunkCollector collector, List<String> lines, List<String> previousLines);
 
     void removeHologram(ChunkCollector collector);
 
     void removeHologram(Location location);
+
+    /**
+     * Whether holograms live only while the collector's chunk is loaded, in
+     * which case the manager recreates them on chunk load.
+     */
+    default boolean isChunkBound() {
+        return false;
+    }
 }
@@ -0,0 +1,133 @@
+package com.swevmc.managers.hologram;
+
+import com.swevmc.utils.ColorUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Hologram lines compiled once per config load. Each line is split into
+ * color-translated literal segments and placeholder slots, so rendering is
+ * string appends only; lines without placeholders are returned as-is.
+ */
+public final class HologramTemplate {
+
+    public static final int AMOUNT = 0;
+    public static final int OWNER = 1;
+    public static final int TIME = 2;
+    public static final int BATTERY = 3;
+
+    private static final String[] PLACEHOLDERS = { "${amount}", "${owner}", "${time}", "${battery}" };
+
+    private final Line[] lines;
+    private final boolean[] usedSlots = new boolean[PLACEHOLDERS.length];
+
+    private HologramTemplate(Line[] lines) {
+        this.lines = lines;
+        for (Line line : lines) {
+            for (int slot : line.slots) {
+                if (slot >= 0) {
+                    usedSlots[slot] = true;
+                }
+            }
+        }
+    }
+
+    public static HologramTemplate compile(List<String> rawLines) {
+        Line[] lines = new Line[rawLines.size()];
+        for (int i = 0; i < lines.length; i++) {
+            lines[i] = compileLine(rawLines.get(i));
+        }
+        return new HologramTemplate(lines);
+    }
+
+    private static Line compileLine(String raw) {
+        List<String> literals = new ArrayList<>();
+        List<Integer> slots = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+
+        int index = 0;
+        while (index < raw.length()) {
+            int slot = placeholderAt(raw, index);
+            if (slot < 0) {
+                literal.append(raw.charAt(index++));
+                continue;
+            }
+
+            literals.add(ColorUtils.translateColors(literal.toString()));
+            slots.add(slot);
+            literal.setLength(0);
+            index += PLACEHOLDERS[slot].length();
+        }
+        literals.add(ColorUtils.translateColors(literal.toString()));
+        slots.add(-1);
+
+        int[] slotArray = new int[slots.size()];
+        int literalLength = 0;
+        for (int i = 0; i < slotArray.length; i++) {
+            slotArray[i] = slots.get(i);
+            literalLength += literals.get(i).length();
+        }
+        return new Line(literals.toArray(new String[0]), slotArray, literalLength);
+    }
+
+    private static int placeholderAt(String raw, int index) {
+        for (int slot = 0; slot < PLACEHOLDERS.length; slot++) {
+            if (raw.startsWith(PLACEHOLDERS[slot], index)) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    public boolean uses(int slot) {
+        return usedSlots[slot];
+    }
+
+    public int size() {
+        return lines.length;
+    }
+
+    /**
+     * Renders every line. {@code values} is indexed by the slot constants and
+     * must already be color-translated.
+     */
+    public List<String> render(String[] values) {
+        String[] rendered = new String[lines.length];
+        for (int i = 0; i < lines.length; i++) {
+            rendered[i] = lines[i].render(values);
+        }
+        return Arrays.asList(rendered);
+    }
+
+    private static final class Line {
+
+        private final String[] literals;
+        private final int[] slots;
+        private final int literalLength;
+        private final String constant;
+
+        private Line(String[] literals, int[] slots, int literalLength) {
+            this.literals = literals;
+            this.slots = slots;
+            this.literalLength = literalLength;
+            this.constant = literals.length == 1 ? literals[0] : null;
+        }
+
+        private String render(String[] values) {
+            if (constant != null) {
+                return constant;
+            }
+
+            StringBuilder builder = new StringBuilder(literalLength + 32);
+            for (int i = 0; i < literals.length; i++) {
+                builder.append(literals[i]);
+                if (slots[i] >= 0) {
+                    builder.append(values[slots[i]]);
+                }
+            }
+            return builder.toString();
+        }
+    }
+}
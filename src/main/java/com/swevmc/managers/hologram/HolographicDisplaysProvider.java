@@ -2,9 +2,10 @@ package com.swevmc.managers.hologram;
 
 import com.swevmc.scc;
 import com.swevmc.models.ChunkCollector;
-import com.swevmc.utils.ColorUtils;
 import me.filoghost.holographicdisplays.api.HolographicDisplaysAPI;
 import me.filoghost.holographicdisplays.api.hologram.Hologram;
+import me.filoghost.holographicdisplays.api.hologram.line.HologramLine;
+import me.filoghost.holographicdisplays.api.hologram.line.TextHologramLine;
 import org.bukkit.Location;
 
 import java.util.HashMap;
@@ -24,27 +25,45 @@ public class HolographicDisplaysProvider implements HologramProvider {
     }
 
     @Override
-    public void createHologram(ChunkCollector collector) {
+    public void createHologram(ChunkCollector collector, List<String> lines) {
         removeHologram(collector);
 
         Location location = collector.getLocation().clone().add(0.5,
                 plugin.getConfigManager().getHologramHeightOffset() + 2, 0.5);
         Hologram hologram = api.createHologram(location);
 
-        updateHologramLines(hologram, collector);
+        setAllLines(hologram, lines);
 
         holograms.put(collector.getUuid(), hologram);
     }
 
     @Override
-    public void updateHologram(ChunkCollector collector) {
+    public void updateHologram(ChunkCollector collector, List<String> lines, List<String> previousLines) {
         Hologram hologram = holograms.get(collector.getUuid());
         if (hologram == null || hologram.isDeleted()) {
-            createHologram(collector);
+            createHologram(collector, lines);
             return;
         }
 
-        updateHologramLines(hologram, collector);
+        if (previousLines == null || previousLines.size() != lines.size()
+                || hologram.getLines().size() != lines.size()) {
+            setAllLines(hologram, lines);
+            return;
+        }
+
+        for (int i = 0; i < lines.size(); i++) {
+            if (lines.get(i).equals(previousLines.get(i))) {
+                continue;
+            }
+
+            HologramLine line = hologram.getLines().get(i);
+            if (line instanceof TextHologramLine textLine) {
+                textLine.setText(lines.get(i));
+            } else {
+                setAllLines(hologram, lines);
+                return;
+            }
+        }
     }
 
     @Override
@@ -60,34 +79,10 @@ public class HolographicDisplaysProvider implements HologramProvider {
 
     }
 
-    private void updateHologramLines(Hologram hologram, ChunkCollector collector) {
+    private void setAllLines(Hologram hologram, List<String> lines) {
         hologram.getLines().clear();
-        List<String> lines = plugin.getConfigManager().getHologramLines();
-
         for (String line : lines) {
-            line = line.replace("${amount}", String.format("%.2f", collector.getTotalMoneyEarned()));
-            line = line.replace("${owner}", collector.getOwnerName());
-            line = line.replace("${time}", formatTime(collector.getTimeRemaining()));
-            line = line.replace("${battery}", collector.getBatteryBars());
-            hologram.getLines().appendText(ColorUtils.translateColors(line));
-        }
-    }
-
-    private String formatTime(long timeRemaining) {
-        if (timeRemaining <= 0) {
-            return "&cNo Charge";
-        }
-
-        long hours = timeRemaining / 3600;
-        long minutes = (timeRemaining % 3600) / 60;
-        long seconds = timeRemaining % 60;
-
-        if (hours > 0) {
-            return String.format("&e%dh %dm %ds", hours, minutes, seconds);
-        } else if (minutes > 0) {
-            return String.format("&e%dm %ds", minutes, seconds);
-        } else {
-            return String.format("&e%ds", seconds);
+            hologram.getLines().appendText(line);
         }
     }
 }
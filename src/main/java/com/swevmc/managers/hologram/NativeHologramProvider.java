@@ -0,0 +1,113 @@
+package com.swevmc.managers.hologram;
+
+import com.swevmc.scc;
+import com.swevmc.models.ChunkCollector;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
+import org.bukkit.Color;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Display;
+import org.bukkit.entity.TextDisplay;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Hologram provider backed by Paper TextDisplay entities, no hologram plugin
+ * required. Displays are non-persistent and only exist while the collector's
+ * chunk is loaded.
+ */
+public class NativeHologramProvider implements HologramProvider {
+
+    private static final LegacyComponentSerializer SERIALIZER = LegacyComponentSerializer.builder()
+            .character(LegacyComponentSerializer.SECTION_CHAR)
+            .hexColors()
+            .useUnusualXRepeatedCharacterHexFormat()
+            .build();
+
+    private final scc plugin;
+    private final Map<UUID, TextDisplay> displays = new HashMap<>();
+
+    public NativeHologramProvider(scc plugin) {
+        this.plugin = plugin;
+    }
+
+    @Override
+    public void createHologram(ChunkCollector collector, List<String> lines) {
+        removeHologram(collector);
+
+        World world = collector.getWorld();
+        if (world == null || !world.isChunkLoaded(collector.getChunkX(), collector.getChunkZ())) {
+            return;
+        }
+
+        Location location = new Location(world, collector.getBlockX() + 0.5,
+                collector.getBlockY() + plugin.getConfigManager().getHologramHeightOffset(),
+                collector.getBlockZ() + 0.5);
+        Component text = toComponent(lines);
+        Color background = parseBackground(plugin.getConfigManager().getHologramBackground());
+
+        TextDisplay display = world.spawn(location, TextDisplay.class, entity -> {
+            entity.setPersistent(false);
+            entity.setBillboard(Display.Billboard.CENTER);
+            entity.setAlignment(TextDisplay.TextAlignment.CENTER);
+            entity.setBackgroundColor(background);
+            entity.text(text);
+        });
+        displays.put(collector.getUuid(), display);
+    }
+
+    @Override
+    public void updateHologram(ChunkCollector collector, List<String> lines, List<String> previousLines) {
+        TextDisplay display = displays.get(collector.getUuid());
+        if (display == null || !display.isValid()) {
+            createHologram(collector, lines);
+            return;
+        }
+
+        display.text(toComponent(lines));
+    }
+
+    @Override
+    public void removeHologram(ChunkCollector collector) {
+        TextDisplay display = displays.remove(collector.getUuid());
+        if (display != null) {
+            display.remove();
+        }
+    }
+
+    @Override
+    public void removeHologram(Location location) {
+
+    }
+
+    @Override
+    public boolean isChunkBound() {
+        return true;
+    }
+
+    private Component toComponent(List<String> lines) {
+        return SERIALIZER.deserialize(String.join("\n", lines));
+    }
+
+    private Color parseBackground(String background) {
+        if (background == null || background.equalsIgnoreCase("TRANSPARENT")) {
+            return Color.fromARGB(0, 0, 0, 0);
+        }
+
+        try {
+            if (background.startsWith("#") && background.length() == 9) {
+                return Color.fromARGB((int) Long.parseLong(background.substring(1), 16));
+            }
+            if (background.startsWith("#") && background.length() == 7) {
+                return Color.fromRGB(Integer.parseInt(background.substring(1), 16));
+            }
+        } catch (NumberFormatException e) {
+            plugin.getLogger().warning("Invalid hologram background color: " + background);
+        }
+        return Color.fromARGB(0, 0, 0, 0);
+    }
+}
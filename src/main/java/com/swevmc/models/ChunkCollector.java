@@ -3,9 +3,12 @@ package com.swevmc.models;
 import com.swevmc.scc;
 import com.swevmc.managers.HologramManager;
 import com.swevmc.managers.ConfigManager;
+import com.swevmc.managers.ConfigSnapshot;
+import com.swevmc.utils.ChunkKeyMap;
 
 import org.bukkit.Location;
 import org.bukkit.Material;
+import org.bukkit.World;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.ItemMeta;
@@ -19,28 +22,47 @@ import java.util.UUID;
 
 public class ChunkCollector {
 
+    public static final int BATTERY_BARS = 10;
+
     private final UUID uuid;
     private final UUID ownerUuid;
     private final String ownerName;
     private final Location location;
+    private final UUID worldUid;
+    private final int blockX;
+    private final int blockY;
+    private final int blockZ;
     private final long createdAt;
-    private long timeRemaining;
+    private long chargeExpiresAt;
+    private boolean chargePaused;
+    private long pausedChargeMillis;
+    private long pausedAutosellElapsed;
     private int itemsCollected;
     private boolean active;
     private long lastCollectionTime;
+    private int scanInterval;
+    private long nextScanTick;
+    private int lastScanYield;
 
     private Map<Material, Integer> virtualItems;
     private double totalMoneyEarned;
     private long lastAutosellTime;
+    private long scheduledAutosellAt;
+    private long scheduledChargeExpiresAt;
     private long maxChargeTime;
+    private long version;
 
     public ChunkCollector(UUID ownerUuid, String ownerName, Location location) {
         this.uuid = UUID.randomUUID();
         this.ownerUuid = ownerUuid;
         this.ownerName = ownerName;
         this.location = location.clone();
+        this.worldUid = location.getWorld().getUID();
+        this.blockX = location.getBlockX();
+        this.blockY = location.getBlockY();
+        this.blockZ = location.getBlockZ();
         this.createdAt = Instant.now().getEpochSecond();
-        this.timeRemaining = 0;
+        this.chargeExpiresAt = 0;
         this.itemsCollected = 0;
         this.active = false;
         this.lastCollectionTime = 0;
@@ -53,14 +75,33 @@ public class ChunkCollector {
 
     public ChunkCollector(UUID uuid, UUID ownerUuid, String ownerName, Location location,
             long createdAt, long timeRemaining, int itemsCollected, boolean active) {
+        this(uuid, ownerUuid, ownerName, location, createdAt, 0, timeRemaining, itemsCollected, active);
+    }
+
+    /**
+     * Restores a stored collector. A running charge is stored as its absolute
+     * {@code chargeExpiresAt}; a charge frozen by a pause or by shutdown is
+     * stored as {@code timeRemaining} seconds and starts running again now.
+     */
+    public ChunkCollector(UUID uuid, UUID ownerUuid, String ownerName, Location location,
+            long createdAt, long chargeExpiresAt, long timeRemaining, int itemsCollected, boolean active) {
         this.uuid = uuid;
         this.ownerUuid = ownerUuid;
         this.ownerName = ownerName;
         this.location = location.clone();
+        this.worldUid = location.getWorld().getUID();
+        this.blockX = location.getBlockX();
+        this.blockY = location.getBlockY();
+        this.blockZ = location.getBlockZ();
         this.createdAt = createdAt;
-        this.timeRemaining = timeRemaining;
+        if (chargeExpiresAt > 0) {
+            this.active = active;
+            this.chargeExpiresAt = active ? chargeExpiresAt : 0;
+        } else {
+            this.active = active && timeRemaining > 0;
+            this.chargeExpiresAt = this.active ? System.currentTimeMillis() + timeRemaining * 1000L : 0;
+        }
         this.itemsCollected = itemsCollected;
-        this.active = active;
         this.lastCollectionTime = 0;
 
         this.virtualItems = new HashMap<>();
@@ -69,6 +110,38 @@ public class ChunkCollector {
         this.maxChargeTime = timeRemaining;
     }
 
+    private ChunkCollector(ChunkCollector source, long currentTime, boolean freezeCharge) {
+        this.uuid = source.uuid;
+        this.ownerUuid = source.ownerUuid;
+        this.ownerName = source.ownerName;
+        this.location = source.location.clone();
+        this.worldUid = source.worldUid;
+        this.blockX = source.blockX;
+        this.blockY = source.blockY;
+        this.blockZ = source.blockZ;
+        this.createdAt = source.createdAt;
+        this.active = source.active;
+        this.chargeExpiresAt = source.chargeExpiresAt;
+        this.chargePaused = freezeCharge || source.chargePaused;
+        this.pausedChargeMillis = freezeCharge ? source.getRemainingMillis(currentTime) : source.pausedChargeMillis;
+        this.pausedAutosellElapsed = source.pausedAutosellElapsed;
+        this.itemsCollected = source.itemsCollected;
+        this.virtualItems = new HashMap<>(source.virtualItems);
+        this.totalMoneyEarned = source.totalMoneyEarned;
+        this.lastAutosellTime = source.lastAutosellTime;
+        this.maxChargeTime = source.maxChargeTime;
+        this.version = source.version;
+    }
+
+    /**
+     * Detached copy for saving off the main thread. With {@code freezeCharge}
+     * a running charge is stored as the time remaining at {@code currentTime},
+     * so it does not drain while the server is stopped.
+     */
+    public ChunkCollector snapshot(long currentTime, boolean freezeCharge) {
+        return new ChunkCollector(this, currentTime, freezeCharge);
+    }
+
     public void createHologram() {
         HologramManager hologramManager = scc.getInstance().getHologramManager();
         hologramManager.createHologram(this);
@@ -84,64 +157,99 @@ public class ChunkCollector {
         hologramManager.removeHologram(this);
     }
 
-    public void collectItem(ItemStack item, Location itemLocation) {
-        if (!active || timeRemaining <= 0)
+    public void collectItems(CollectionBatch batch) {
+        if (batch.isEmpty())
             return;
 
-        Material material = item.getType();
-        int amount = item.getAmount();
-
-        virtualItems.put(material, virtualItems.getOrDefault(material, 0) + amount);
-        itemsCollected += amount;
+        for (Map.Entry<Material, Integer> entry : batch.getAmounts().entrySet()) {
+            virtualItems.merge(entry.getKey(), entry.getValue(), Integer::sum);
+        }
+        itemsCollected += batch.getTotalAmount();
+        markDirty();
 
         updateHologram();
 
         long currentTime = System.currentTimeMillis();
-        int cooldown = scc.getInstance().getConfigManager().getCollectionEffectCooldown();
-        if (currentTime - lastCollectionTime < cooldown) {
+        ConfigSnapshot config = scc.getInstance().getConfigManager().getSnapshot();
+        if (currentTime - lastCollectionTime < config.getCollectionEffectCooldown()) {
             return;
         }
         lastCollectionTime = currentTime;
 
-        try {
-            itemLocation.getWorld().playSound(itemLocation,
-                    org.bukkit.Sound.valueOf(scc.getInstance().getConfigManager().getSound("item-collect")),
-                    0.2f, 1.5f);
-        } catch (IllegalArgumentException e) {
-            itemLocation.getWorld().playSound(itemLocation, org.bukkit.Sound.ENTITY_ITEM_PICKUP, 0.2f, 1.5f);
-        }
+        Location itemLocation = batch.getEffectLocation();
+        itemLocation.getWorld().playSound(itemLocation,
+                config.getSound("item-collect", org.bukkit.Sound.ENTITY_ITEM_PICKUP), 0.2f, 1.5f);
 
         itemLocation.getWorld().spawnParticle(
-                org.bukkit.Particle.EXPLOSION,
+                config.getEffect("item-collect-particle", org.bukkit.Particle.EXPLOSION),
                 itemLocation.clone().add(0.0, 0.1, 0.0),
                 1,
                 0.05, 0.05, 0.05,
                 0.0);
     }
 
-    public void collectItem(ItemStack item) {
-        collectItem(item, location);
+    public boolean isScanDue(long currentTick) {
+        return currentTick >= nextScanTick;
     }
 
-    public void tick() {
-        if (!active)
-            return;
+    public void recordScan(long currentTick, int collected, int minInterval, int maxInterval) {
+        lastScanYield = collected;
+        if (collected > 0) {
+            scanInterval = Math.max(minInterval, scanInterval / 2);
+        } else {
+            scanInterval = Math.min(maxInterval, Math.max(minInterval, scanInterval * 2));
+        }
+        nextScanTick = currentTick + scanInterval;
+    }
 
-        timeRemaining--;
+    public void resetScanInterval(long currentTick, int minInterval) {
+        scanInterval = minInterval;
+        nextScanTick = Math.min(nextScanTick, currentTick + minInterval);
+    }
 
-        long currentTime = System.currentTimeMillis();
-        long autosellInterval = scc.getInstance().getConfigManager().getAutosellInterval() * 1000;
+    public boolean isChargeExpired(long currentTime) {
+        return active && !chargePaused && currentTime >= chargeExpiresAt;
+    }
 
-        if (currentTime - lastAutosellTime >= autosellInterval) {
-            performAutosell();
-            lastAutosellTime = currentTime;
+    public void pauseCharge(long currentTime) {
+        if (!active || chargePaused) {
+            return;
         }
+        pausedChargeMillis = Math.max(0, chargeExpiresAt - currentTime);
+        pausedAutosellElapsed = Math.max(0, currentTime - lastAutosellTime);
+        chargePaused = true;
+    }
 
-        if (timeRemaining <= 0) {
-            deactivate();
-        } else {
-            updateHologram();
+    public void resumeCharge(long currentTime) {
+        if (!chargePaused) {
+            return;
         }
+        chargeExpiresAt = currentTime + pausedChargeMillis;
+        lastAutosellTime = currentTime - pausedAutosellElapsed;
+        chargePaused = false;
+    }
+
+    public boolean isChargePaused() {
+        return chargePaused;
+    }
+
+    private long getRemainingMillis(long currentTime) {
+        if (!active) {
+            return 0;
+        }
+        if (chargePaused) {
+            return pausedChargeMillis;
+        }
+        return Math.max(0, chargeExpiresAt - currentTime);
+    }
+
+    public long getNextAutosellAt() {
+        return lastAutosellTime + scc.getInstance().getConfigManager().getSnapshot().getAutosellInterval() * 1000L;
+    }
+
+    public void autosell(long currentTime) {
+        performAutosell();
+        lastAutosellTime = currentTime;
     }
 
     private void performAutosell() {
@@ -149,7 +257,6 @@ public class ChunkCollector {
             return;
 
         scc plugin = scc.getInstance();
-        ConfigManager config = plugin.getConfigManager();
         double totalEarned = 0.0;
 
         for (Map.Entry<Material, Integer> entry : virtualItems.entrySet()) {
@@ -160,20 +267,11 @@ public class ChunkCollector {
         }
 
         if (totalEarned > 0) {
-            Player owner = plugin.getServer().getPlayer(ownerUuid);
-            if (owner != null && owner.isOnline()) {
-                plugin.getEconomyManager().depositMoney(owner, totalEarned);
-
-                String message = config.getMessage("autosell-complete")
-                        .replace("${amount}", String.format("%.2f", totalEarned));
-                owner.sendMessage(config.getPrefix() + message);
-            } else {
-                plugin.getLogger().info("Owner " + ownerName + " is offline, earned $"
-                        + String.format("%.2f", totalEarned) + " from autosell");
-            }
+            plugin.getSettlementManager().credit(ownerUuid, ownerName, uuid, totalEarned);
 
             totalMoneyEarned += totalEarned;
             virtualItems.clear();
+            markDirty();
             updateHologram();
         }
     }
@@ -201,6 +299,8 @@ public class ChunkCollector {
             return false;
         }
 
+        long timeRemaining = getTimeRemaining();
+
         long maxDuration = getMaxDuration(player);
         if (timeRemaining >= maxDuration) {
             return false;
@@ -230,24 +330,27 @@ public class ChunkCollector {
             return false;
         }
 
-        timeRemaining += chargeToAdd;
-        if (timeRemaining > maxChargeTime) {
-            maxChargeTime = timeRemaining;
+        long currentTime = System.currentTimeMillis();
+        long remainingMillis = getRemainingMillis(currentTime) + chargeToAdd * 1000L;
+        if (chargePaused) {
+            pausedChargeMillis = remainingMillis;
+        } else {
+            chargeExpiresAt = currentTime + remainingMillis;
+        }
+        if (timeRemaining + chargeToAdd > maxChargeTime) {
+            maxChargeTime = timeRemaining + chargeToAdd;
         }
         active = true;
+        markDirty();
+        plugin.getChunkCollectorManager().scheduleTimers(this);
         updateHologram();
 
-        try {
-
-            @SuppressWarnings("deprecation")
-            org.bukkit.Sound sound = org.bukkit.Sound.valueOf(plugin.getConfigManager().getSound("collector-recharge"));
-            location.getWorld().playSound(location, sound, 1.0f, 1.0f);
-        } catch (IllegalArgumentException e) {
-            location.getWorld().playSound(location, org.bukkit.Sound.BLOCK_ENCHANTMENT_TABLE_USE, 1.0f, 1.0f);
-        }
+        ConfigSnapshot config = plugin.getConfigManager().getSnapshot();
+        location.getWorld().playSound(location,
+                config.getSound("collector-recharge", org.bukkit.Sound.BLOCK_ENCHANTMENT_TABLE_USE), 1.0f, 1.0f);
 
         location.getWorld().spawnParticle(
-                org.bukkit.Particle.valueOf(plugin.getConfigManager().getEffect("collector-recharge-particle")),
+                config.getEffect("collector-recharge-particle", org.bukkit.Particle.ENCHANT),
                 location.clone().add(0.5, 1, 0.5), 20, 0.5, 0.5, 0.5, 0.1);
 
         player.sendMessage(plugin.getConfigManager().getPrefix() +
@@ -258,20 +361,17 @@ public class ChunkCollector {
 
     public void deactivate() {
         active = false;
-        timeRemaining = 0;
+        chargeExpiresAt = 0;
+        chargePaused = false;
+        markDirty();
         updateHologram();
 
-        try {
-            location.getWorld().playSound(location,
-                    org.bukkit.Sound.valueOf(scc.getInstance().getConfigManager().getSound("collector-depleted")),
-                    1.0f, 0.5f);
-        } catch (IllegalArgumentException e) {
-            location.getWorld().playSound(location, org.bukkit.Sound.BLOCK_NOTE_BLOCK_BASS, 1.0f, 0.5f);
-        }
+        ConfigSnapshot config = scc.getInstance().getConfigManager().getSnapshot();
+        location.getWorld().playSound(location,
+                config.getSound("collector-depleted", org.bukkit.Sound.BLOCK_NOTE_BLOCK_BASS), 1.0f, 0.5f);
 
         location.getWorld().spawnParticle(
-                org.bukkit.Particle
-                        .valueOf(scc.getInstance().getConfigManager().getEffect("collector-depleted-particle")),
+                config.getEffect("collector-depleted-particle", org.bukkit.Particle.SMOKE),
                 location.clone().add(0.5, 1, 0.5), 30, 0.5, 0.5, 0.5, 0.1);
     }
 
@@ -289,7 +389,7 @@ public class ChunkCollector {
         double costForDefault = config.getDefaultChargeMinutes() * config.getRechargeCostPerMinute();
 
         lore.add(config.getGuiRechargeCost().replace("${cost}", String.format("%.2f", costForDefault)));
-        lore.add(config.getGuiTimeRemaining().replace("${time}", formatTime(timeRemaining)));
+        lore.add(config.getGuiTimeRemaining().replace("${time}", formatTime(getTimeRemaining())));
         lore.add(config.getGuiMoneyEarned().replace("${amount}", String.format("%.2f", totalMoneyEarned)));
 
         meta.setLore(lore);
@@ -321,6 +421,15 @@ public class ChunkCollector {
         }
     }
 
+    private void markDirty() {
+        version++;
+        scc.getInstance().getChunkCollectorManager().queueSave(this);
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
     public boolean isOwner(Player player) {
         return player.getUniqueId().equals(ownerUuid);
     }
@@ -345,12 +454,66 @@ public class ChunkCollector {
         return location.clone();
     }
 
+    public World getWorld() {
+        return location.getWorld();
+    }
+
+    public UUID getWorldUid() {
+        return worldUid;
+    }
+
+    public int getBlockX() {
+        return blockX;
+    }
+
+    public int getBlockY() {
+        return blockY;
+    }
+
+    public int getBlockZ() {
+        return blockZ;
+    }
+
+    public int getChunkX() {
+        return blockX >> 4;
+    }
+
+    public int getChunkZ() {
+        return blockZ >> 4;
+    }
+
+    public long getChunkKey() {
+        return ChunkKeyMap.pack(blockX >> 4, blockZ >> 4);
+    }
+
     public long getCreatedAt() {
         return createdAt;
     }
 
     public long getTimeRemaining() {
-        return timeRemaining;
+        long remainingMillis = getRemainingMillis(System.currentTimeMillis());
+        return remainingMillis > 0 ? (remainingMillis + 999) / 1000 : 0;
+    }
+
+    public long getChargeExpiresAt() {
+        return chargeExpiresAt;
+    }
+
+    /**
+     * Stored form of a running charge: its absolute expiry, or 0 if the
+     * charge is paused or the collector is inactive. Unlike the remaining
+     * time this does not change while the charge runs.
+     */
+    public long getStoredChargeExpiresAt() {
+        return active && !chargePaused ? chargeExpiresAt : 0;
+    }
+
+    /**
+     * Stored form of a paused charge: the seconds left when it was paused, or
+     * 0 if the charge is running.
+     */
+    public long getStoredTimeRemaining() {
+        return active && chargePaused ? (pausedChargeMillis + 999) / 1000 : 0;
     }
 
     public int getItemsCollected() {
@@ -365,6 +528,10 @@ public class ChunkCollector {
         return new HashMap<>(virtualItems);
     }
 
+    public void setVirtualItems(Map<Material, Integer> virtualItems) {
+        this.virtualItems = new HashMap<>(virtualItems);
+    }
+
     public double getTotalMoneyEarned() {
         return totalMoneyEarned;
     }
@@ -381,6 +548,30 @@ public class ChunkCollector {
         this.lastAutosellTime = lastAutosellTime;
     }
 
+    public long getScheduledAutosellAt() {
+        return scheduledAutosellAt;
+    }
+
+    public void setScheduledAutosellAt(long scheduledAutosellAt) {
+        this.scheduledAutosellAt = scheduledAutosellAt;
+    }
+
+    public long getScheduledChargeExpiresAt() {
+        return scheduledChargeExpiresAt;
+    }
+
+    public void setScheduledChargeExpiresAt(long scheduledChargeExpiresAt) {
+        this.scheduledChargeExpiresAt = scheduledChargeExpiresAt;
+    }
+
+    public int getScanInterval() {
+        return scanInterval;
+    }
+
+    public int getLastScanYield() {
+        return lastScanYield;
+    }
+
     public long getMaxChargeTime() {
         return maxChargeTime;
     }
@@ -389,26 +580,15 @@ public class ChunkCollector {
         this.maxChargeTime = maxChargeTime;
     }
 
-    public String getBatteryBars() {
+    public int getBatteryLevel() {
+        long timeRemaining = getTimeRemaining();
         if (timeRemaining <= 0) {
-            return "&7||||||||||";
+            return 0;
         }
 
-        int totalBars = 10;
-        long maxTime = Math.max(maxChargeTime, scc.getInstance().getConfigManager().getDefaultChargeMinutes() * 60);
+        long maxTime = Math.max(maxChargeTime,
+                scc.getInstance().getConfigManager().getSnapshot().getDefaultChargeMinutes() * 60L);
         double percentage = (double) timeRemaining / maxTime;
-        int filledBars = (int) Math.round(percentage * totalBars);
-
-        StringBuilder battery = new StringBuilder();
-
-        for (int i = 0; i < totalBars; i++) {
-            if (i < filledBars) {
-                battery.append("&a|");
-            } else {
-                battery.append("&7|");
-            }
-        }
-
-        return battery.toString();
+        return (int) Math.min(BATTERY_BARS, Math.round(percentage * BATTERY_BARS));
     }
 }
@@ -0,0 +1,54 @@
+package com.swevmc.models;
+
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.World;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Per-material item deltas gathered for one collector during one collection
+ * cycle, applied to the collector in a single step.
+ */
+public class CollectionBatch {
+
+    private final Map<Material, Integer> amounts = new EnumMap<>(Material.class);
+    private int totalAmount;
+    private World effectWorld;
+    private double effectX;
+    private double effectY;
+    private double effectZ;
+
+    public void add(Material material, int amount, Location itemLocation) {
+        amounts.merge(material, amount, Integer::sum);
+        totalAmount += amount;
+
+        effectWorld = itemLocation.getWorld();
+        effectX = itemLocation.getX();
+        effectY = itemLocation.getY();
+        effectZ = itemLocation.getZ();
+    }
+
+    public Map<Material, Integer> getAmounts() {
+        return amounts;
+    }
+
+    public int getTotalAmount() {
+        return totalAmount;
+    }
+
+    public boolean isEmpty() {
+        return totalAmount == 0;
+    }
+
+    public Location getEffectLocation() {
+        return new Location(effectWorld, effectX, effectY, effectZ);
+    }
+
+    public void clear() {
+        amounts.clear();
+        totalAmount = 0;
+        effectWorld = null;
+    }
+}
@@ -2,11 +2,16 @@ package com.swevmc;
 
 import com.swevmc.commands.ChunkCollectorCommand;
 import com.swevmc.listeners.ChunkCollectorListener;
+import com.swevmc.listeners.ChunkTrackingListener;
+import com.swevmc.listeners.ItemCollectionListener;
+import com.swevmc.listeners.SettlementListener;
+import com.swevmc.managers.AutosaveManager;
 import com.swevmc.managers.ChunkCollectorManager;
 import com.swevmc.managers.ConfigManager;
 import com.swevmc.managers.EconomyManager;
 import com.swevmc.managers.EconomyPriceManager;
 import com.swevmc.managers.HologramManager;
+import com.swevmc.managers.SettlementManager;
 import com.swevmc.utils.DataManager;
 import net.milkbowl.vault.economy.Economy;
 import org.bukkit.plugin.RegisteredServiceProvider;
@@ -20,6 +25,8 @@ public final class scc extends JavaPlugin {
     private EconomyManager economyManager;
     private EconomyPriceManager economyPriceManager;
     private HologramManager hologramManager;
+    private SettlementManager settlementManager;
+    private AutosaveManager autosaveManager;
     private DataManager dataManager;
     private Economy economy;
 
@@ -42,17 +49,29 @@ public final class scc extends JavaPlugin {
         registerCommands();
         registerListeners();
         collectorManager.loadCollectors();
+        autosaveManager.start();
 
         getLogger().info("SwevsChunkCollector has been enabled successfully!");
     }
 
     @Override
     public void onDisable() {
+        if (settlementManager != null) {
+            settlementManager.shutdown();
+        }
+
         if (collectorManager != null) {
-            collectorManager.saveCollectors();
             collectorManager.shutdown();
         }
 
+        if (autosaveManager != null) {
+            autosaveManager.shutdown();
+        }
+
+        if (hologramManager != null) {
+            hologramManager.shutdown();
+        }
+
         if (dataManager != null) {
             dataManager.shutdown();
         }
@@ -89,12 +108,15 @@ public final class scc extends JavaPlugin {
         economyPriceManager = new EconomyPriceManager(this);
         hologramManager = new HologramManager(this);
         if (!hologramManager.init()) {
-            getLogger().severe("No supported hologram plugin found! Disabling plugin...");
+            getLogger().severe("Configured hologram provider is not available! Disabling plugin...");
             getServer().getPluginManager().disablePlugin(this);
             return false;
         }
         dataManager = new DataManager(this);
+        settlementManager = new SettlementManager(this);
+        settlementManager.start();
         collectorManager = new ChunkCollectorManager(this);
+        autosaveManager = new AutosaveManager(this);
         return true;
     }
 
@@ -121,6 +143,9 @@ public final class scc extends JavaPlugin {
     private void registerListeners() {
         try {
             getServer().getPluginManager().registerEvents(new ChunkCollectorListener(this), this);
+            getServer().getPluginManager().registerEvents(new ItemCollectionListener(this), this);
+            getServer().getPluginManager().registerEvents(new ChunkTrackingListener(this), this);
+            getServer().getPluginManager().registerEvents(new SettlementListener(this), this);
         } catch (Exception e) {
             getLogger().severe("Failed to register listeners: " + e.getMessage());
             e.printStackTrace();
@@ -147,6 +172,14 @@ public final class scc extends JavaPlugin {
         return economyPriceManager;
     }
 
+    public SettlementManager getSettlementManager() {
+        return settlementManager;
+    }
+
+    public AutosaveManager getAutosaveManager() {
+        return autosaveManager;
+    }
+
     public HologramManager getHologramManager() {
         return hologramManager;
     }
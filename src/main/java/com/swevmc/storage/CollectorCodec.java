@@ -0,0 +1,203 @@
+package com.swevmc.storage;
+
+import com.swevmc.scc;
+import com.swevmc.models.ChunkCollector;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.World;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Compact binary encoding of a collector's persisted state, shared by the
+ * binary storage backends. Every record starts with the collector UUID.
+ */
+final class CollectorCodec {
+
+    private CollectorCodec() {
+    }
+
+    static byte[] encode(ChunkCollector collector) {
+        return encode(collector, true);
+    }
+
+    /**
+     * Encodes a collector, optionally leaving out its virtual items for
+     * storages that keep those separately.
+     */
+    static byte[] encode(ChunkCollector collector, boolean withItems) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            write(out, collector, withItems);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to encode collector " + collector.getUuid(), e);
+        }
+        return bytes.toByteArray();
+    }
+
+    static void write(DataOutput out, ChunkCollector collector, boolean withItems) throws IOException {
+        Location location = collector.getLocation();
+
+        writeUuid(out, collector.getUuid());
+        writeUuid(out, collector.getOwnerUuid());
+        out.writeUTF(collector.getOwnerName());
+        out.writeUTF(location.getWorld().getName());
+        out.writeDouble(location.getX());
+        out.writeDouble(location.getY());
+        out.writeDouble(location.getZ());
+        out.writeFloat(location.getYaw());
+        out.writeFloat(location.getPitch());
+        out.writeLong(collector.getCreatedAt());
+        out.writeLong(collector.getStoredTimeRemaining());
+        out.writeInt(collector.getItemsCollected());
+        out.writeBoolean(collector.isActive());
+        out.writeLong(collector.getMaxChargeTime());
+        out.writeDouble(collector.getTotalMoneyEarned());
+        out.writeLong(collector.getLastAutosellTime());
+
+        writeItems(out, withItems ? collector.getVirtualItems() : Map.of());
+        // Appended after the original fields so older records still decode
+        out.writeLong(collector.getStoredChargeExpiresAt());
+    }
+
+    /**
+     * Decodes one collector record, or returns null (after logging) if its
+     * world is not loaded. Records written before the charge expiry was
+     * stored load with their frozen time remaining.
+     */
+    static ChunkCollector read(byte[] record, scc plugin) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(record));
+        UUID uuid = readUuid(in);
+        UUID ownerUuid = readUuid(in);
+        String ownerName = in.readUTF();
+        String worldName = in.readUTF();
+        double x = in.readDouble();
+        double y = in.readDouble();
+        double z = in.readDouble();
+        float yaw = in.readFloat();
+        float pitch = in.readFloat();
+        long createdAt = in.readLong();
+        long timeRemaining = in.readLong();
+        int itemsCollected = in.readInt();
+        boolean active = in.readBoolean();
+        long maxChargeTime = in.readLong();
+        double totalMoneyEarned = in.readDouble();
+        long lastAutosellTime = in.readLong();
+
+        Map<Material, Integer> virtualItems = readItems(in);
+        long chargeExpiresAt = in.available() >= Long.BYTES ? in.readLong() : 0;
+
+        World world = plugin.getServer().getWorld(worldName);
+        if (world == null) {
+            plugin.getLogger().warning("World not found: " + worldName + " for collector " + uuid);
+            return null;
+        }
+
+        ChunkCollector collector = new ChunkCollector(uuid, ownerUuid, ownerName,
+                new Location(world, x, y, z, yaw, pitch), createdAt, chargeExpiresAt, timeRemaining, itemsCollected,
+                active);
+        collector.setMaxChargeTime(maxChargeTime);
+        collector.setTotalMoneyEarned(totalMoneyEarned);
+        collector.setLastAutosellTime(lastAutosellTime);
+        collector.setVirtualItems(virtualItems);
+        return collector;
+    }
+
+    static byte[] encodeItems(Map<Material, Integer> items) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(16 + items.size() * 24);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            writeItems(out, items);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to encode virtual items", e);
+        }
+        return bytes.toByteArray();
+    }
+
+    static Map<Material, Integer> decodeItems(byte[] data) throws IOException {
+        return readItems(new DataInputStream(new ByteArrayInputStream(data)));
+    }
+
+    static void writeItems(DataOutput out, Map<Material, Integer> items) throws IOException {
+        out.writeShort(items.size());
+        for (Map.Entry<Material, Integer> entry : items.entrySet()) {
+            out.writeUTF(entry.getKey().name());
+            out.writeInt(entry.getValue());
+        }
+    }
+
+    static Map<Material, Integer> readItems(DataInput in) throws IOException {
+        Map<Material, Integer> items = new EnumMap<>(Material.class);
+        int materials = in.readUnsignedShort();
+        for (int i = 0; i < materials; i++) {
+            Material material = Material.getMaterial(in.readUTF());
+            int amount = in.readInt();
+            if (material != null && amount > 0) {
+                items.put(material, amount);
+            }
+        }
+        return items;
+    }
+
+    static byte[] encodePayouts(Map<UUID, Double> payouts) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(4 + payouts.size() * 24);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            writePayouts(out, payouts);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to encode pending payouts", e);
+        }
+        return bytes.toByteArray();
+    }
+
+    static Map<UUID, Double> decodePayouts(byte[] data) throws IOException {
+        return readPayouts(new DataInputStream(new ByteArrayInputStream(data)));
+    }
+
+    static void writePayouts(DataOutput out, Map<UUID, Double> payouts) throws IOException {
+        out.writeInt(payouts.size());
+        for (Map.Entry<UUID, Double> entry : payouts.entrySet()) {
+            writeUuid(out, entry.getKey());
+            out.writeDouble(entry.getValue());
+        }
+    }
+
+    static Map<UUID, Double> readPayouts(DataInput in) throws IOException {
+        int count = in.readInt();
+        Map<UUID, Double> payouts = new HashMap<>(count * 2);
+        for (int i = 0; i < count; i++) {
+            payouts.put(readUuid(in), in.readDouble());
+        }
+        return payouts;
+    }
+
+    static void writeUuid(DataOutput out, UUID uuid) throws IOException {
+        out.writeLong(uuid.getMostSignificantBits());
+        out.writeLong(uuid.getLeastSignificantBits());
+    }
+
+    static UUID readUuid(DataInput in) throws IOException {
+        return new UUID(in.readLong(), in.readLong());
+    }
+
+    static UUID readUuid(byte[] data) {
+        ByteBuffer buffer = ByteBuffer.wrap(data);
+        return new UUID(buffer.getLong(), buffer.getLong());
+    }
+
+    static byte[] uuidBytes(UUID uuid) {
+        return ByteBuffer.allocate(16)
+                .putLong(uuid.getMostSignificantBits())
+                .putLong(uuid.getLeastSignificantBits())
+                .array();
+    }
+}
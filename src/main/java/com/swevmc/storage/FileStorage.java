@@ -6,15 +6,24 @@ import org.bukkit.configuration.file.YamlConfiguration;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class FileStorage implements StorageInterface {
 
     private final scc plugin;
     private final File dataFile;
     private YamlConfiguration config;
+    private final Map<UUID, String> paths = new HashMap<>();
+    private int nextIndex;
+    private final AtomicLong bytesWritten = new AtomicLong();
 
     public FileStorage(scc plugin) {
         this.plugin = plugin;
@@ -41,33 +50,19 @@ public class FileStorage implements StorageInterface {
     }
 
     @Override
-    public boolean saveCollectors(List<ChunkCollector> collectors) {
+    public synchronized boolean saveCollectors(List<ChunkCollector> collectors) {
         try {
             config.set("collectors", null);
+            paths.clear();
+            nextIndex = 0;
 
-            for (int i = 0; i < collectors.size(); i++) {
-                ChunkCollector collector = collectors.get(i);
-                String path = "collectors." + i;
-
-                config.set(path + ".uuid", collector.getUuid().toString());
-                config.set(path + ".ownerUuid", collector.getOwnerUuid().toString());
-                config.set(path + ".ownerName", collector.getOwnerName());
-                config.set(path + ".world", collector.getLocation().getWorld().getName());
-                config.set(path + ".x", collector.getLocation().getX());
-                config.set(path + ".y", collector.getLocation().getY());
-                config.set(path + ".z", collector.getLocation().getZ());
-                config.set(path + ".yaw", collector.getLocation().getYaw());
-                config.set(path + ".pitch", collector.getLocation().getPitch());
-                config.set(path + ".createdAt", collector.getCreatedAt());
-                config.set(path + ".timeRemaining", collector.getTimeRemaining());
-                config.set(path + ".itemsCollected", collector.getItemsCollected());
-                config.set(path + ".active", collector.isActive());
-                config.set(path + ".maxChargeTime", collector.getMaxChargeTime());
-                config.set(path + ".totalMoneyEarned", collector.getTotalMoneyEarned());
-                config.set(path + ".lastAutosellTime", collector.getLastAutosellTime());
+            for (ChunkCollector collector : collectors) {
+                String path = "collectors." + nextIndex++;
+                paths.put(collector.getUuid(), path);
+                writeCollector(path, collector);
             }
 
-            config.save(dataFile);
+            writeFile();
             return true;
         } catch (IOException e) {
             plugin.getLogger().severe("Failed to save collectors to file: " + e.getMessage());
@@ -76,14 +71,74 @@ public class FileStorage implements StorageInterface {
     }
 
     @Override
-    public List<ChunkCollector> loadCollectors() {
+    public synchronized boolean saveChanges(List<ChunkCollector> updated, List<UUID> deleted) {
+        try {
+            for (ChunkCollector collector : updated) {
+                String path = paths.computeIfAbsent(collector.getUuid(), uuid -> "collectors." + nextIndex++);
+                writeCollector(path, collector);
+            }
+            for (UUID collectorUuid : deleted) {
+                String path = paths.remove(collectorUuid);
+                if (path != null) {
+                    config.set(path, null);
+                }
+            }
+
+            writeFile();
+            return true;
+        } catch (IOException e) {
+            plugin.getLogger().severe("Failed to save collector changes to file: " + e.getMessage());
+            return false;
+        }
+    }
+
+    private void writeFile() throws IOException {
+        byte[] data = config.saveToString().getBytes(StandardCharsets.UTF_8);
+        Files.write(dataFile.toPath(), data);
+        bytesWritten.addAndGet(data.length);
+    }
+
+    private void writeCollector(String path, ChunkCollector collector) {
+        config.set(path + ".uuid", collector.getUuid().toString());
+        config.set(path + ".ownerUuid", collector.getOwnerUuid().toString());
+        config.set(path + ".ownerName", collector.getOwnerName());
+        config.set(path + ".world", collector.getLocation().getWorld().getName());
+        config.set(path + ".x", collector.getLocation().getX());
+        config.set(path + ".y", collector.getLocation().getY());
+        config.set(path + ".z", collector.getLocation().getZ());
+        config.set(path + ".yaw", collector.getLocation().getYaw());
+        config.set(path + ".pitch", collector.getLocation().getPitch());
+        config.set(path + ".createdAt", collector.getCreatedAt());
+        config.set(path + ".timeRemaining", collector.getStoredTimeRemaining());
+        config.set(path + ".chargeExpiresAt", collector.getStoredChargeExpiresAt());
+        config.set(path + ".itemsCollected", collector.getItemsCollected());
+        config.set(path + ".active", collector.isActive());
+        config.set(path + ".maxChargeTime", collector.getMaxChargeTime());
+        config.set(path + ".totalMoneyEarned", collector.getTotalMoneyEarned());
+        config.set(path + ".lastAutosellTime", collector.getLastAutosellTime());
+
+        // Virtual items as the binary codec section, Base64 encoded to fit in YAML
+        Map<org.bukkit.Material, Integer> items = collector.getVirtualItems();
+        config.set(path + ".items", items.isEmpty() ? null
+                : Base64.getEncoder().encodeToString(CollectorCodec.encodeItems(items)));
+    }
+
+    @Override
+    public synchronized List<ChunkCollector> loadCollectors() {
         try {
             List<ChunkCollector> collectors = new ArrayList<>();
+            paths.clear();
+            nextIndex = 0;
 
-            if (config.contains("collectors")) {
-                int index = 0;
-                while (config.contains("collectors." + index + ".uuid")) {
+            org.bukkit.configuration.ConfigurationSection section = config.getConfigurationSection("collectors");
+            if (section != null) {
+                for (String index : section.getKeys(false)) {
                     String path = "collectors." + index;
+                    try {
+                        nextIndex = Math.max(nextIndex, Integer.parseInt(index) + 1);
+                    } catch (NumberFormatException e) {
+                        plugin.getLogger().warning("Unexpected collector key in file storage: " + index);
+                    }
 
                     try {
                         UUID uuid = UUID.fromString(config.getString(path + ".uuid"));
@@ -100,13 +155,14 @@ public class FileStorage implements StorageInterface {
                         org.bukkit.World world = plugin.getServer().getWorld(worldName);
                         if (world == null) {
                             plugin.getLogger().warning("World not found: " + worldName + " for collector " + uuid);
-                            index++;
+                            paths.put(uuid, path);
                             continue;
                         }
 
                         org.bukkit.Location location = new org.bukkit.Location(world, x, y, z, yaw, pitch);
                         long createdAt = config.getLong(path + ".createdAt");
                         long timeRemaining = config.getLong(path + ".timeRemaining");
+                        long chargeExpiresAt = config.getLong(path + ".chargeExpiresAt", 0);
                         int itemsCollected = config.getInt(path + ".itemsCollected");
                         boolean active = config.getBoolean(path + ".active");
                         long maxChargeTime = config.getLong(path + ".maxChargeTime", 0);
@@ -114,18 +170,22 @@ public class FileStorage implements StorageInterface {
                         long lastAutosellTime = config.getLong(path + ".lastAutosellTime", 0);
 
                         ChunkCollector collector = new ChunkCollector(uuid, ownerUuid, ownerName, location,
-                                createdAt, timeRemaining, itemsCollected, active);
+                                createdAt, chargeExpiresAt, timeRemaining, itemsCollected, active);
                         collector.setMaxChargeTime(maxChargeTime);
                         collector.setTotalMoneyEarned(totalMoneyEarned);
                         collector.setLastAutosellTime(lastAutosellTime);
 
+                        String items = config.getString(path + ".items");
+                        if (items != null) {
+                            collector.setVirtualItems(CollectorCodec.decodeItems(Base64.getDecoder().decode(items)));
+                        }
+
                         collectors.add(collector);
+                        paths.put(uuid, path);
                     } catch (Exception e) {
                         plugin.getLogger()
                                 .warning("Failed to load collector at index " + index + ": " + e.getMessage());
                     }
-
-                    index++;
                 }
             }
 
@@ -158,6 +218,45 @@ public class FileStorage implements StorageInterface {
         return false;
     }
 
+    @Override
+    public synchronized Map<UUID, Double> loadPendingPayouts() {
+        Map<UUID, Double> payouts = new HashMap<>();
+        org.bukkit.configuration.ConfigurationSection section = config.getConfigurationSection("pending-payouts");
+        if (section == null) {
+            return payouts;
+        }
+
+        for (String key : section.getKeys(false)) {
+            try {
+                payouts.put(UUID.fromString(key), section.getDouble(key));
+            } catch (IllegalArgumentException e) {
+                plugin.getLogger().warning("Invalid pending payout owner: " + key);
+            }
+        }
+        return payouts;
+    }
+
+    @Override
+    public synchronized boolean savePendingPayouts(Map<UUID, Double> payouts) {
+        try {
+            config.set("pending-payouts", null);
+            for (Map.Entry<UUID, Double> entry : payouts.entrySet()) {
+                config.set("pending-payouts." + entry.getKey(), entry.getValue());
+            }
+
+            writeFile();
+            return true;
+        } catch (IOException e) {
+            plugin.getLogger().severe("Failed to save pending payouts to file: " + e.getMessage());
+            return false;
+        }
+    }
+
+    @Override
+    public long getBytesWritten() {
+        return bytesWritten.get();
+    }
+
     @Override
     public boolean isConnected() {
         return dataFile.exists() && config != null;
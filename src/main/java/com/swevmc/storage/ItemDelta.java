@@ -0,0 +1,67 @@
+package com.swevmc.storage;
+
+import org.bukkit.Material;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-material difference between the virtual items last written for a
+ * collector and its current ones, so storages only touch changed counts.
+ */
+final class ItemDelta {
+
+    final Map<Material, Integer> changed = new EnumMap<>(Material.class);
+    final List<Material> removed = new ArrayList<>();
+
+    private ItemDelta() {
+    }
+
+    static ItemDelta between(Map<Material, Integer> previous, Map<Material, Integer> current) {
+        ItemDelta delta = new ItemDelta();
+        for (Map.Entry<Material, Integer> entry : current.entrySet()) {
+            if (!entry.getValue().equals(previous.get(entry.getKey()))) {
+                delta.changed.put(entry.getKey(), entry.getValue());
+            }
+        }
+        for (Material material : previous.keySet()) {
+            if (!current.containsKey(material)) {
+                delta.removed.add(material);
+            }
+        }
+        return delta;
+    }
+
+    boolean isEmpty() {
+        return changed.isEmpty() && removed.isEmpty();
+    }
+
+    /**
+     * Parses the legacy {@code MATERIAL:count,...} format older versions
+     * wrote for MySQL and Redis.
+     */
+    static Map<Material, Integer> parseLegacy(String serialized) {
+        Map<Material, Integer> items = new EnumMap<>(Material.class);
+        if (serialized == null || serialized.isEmpty()) {
+            return items;
+        }
+
+        for (String part : serialized.split(",")) {
+            int separator = part.lastIndexOf(':');
+            if (separator <= 0) {
+                continue;
+            }
+            Material material = Material.getMaterial(part.substring(0, separator));
+            try {
+                int amount = Integer.parseInt(part.substring(separator + 1));
+                if (material != null && amount > 0) {
+                    items.put(material, amount);
+                }
+            } catch (NumberFormatException ignored) {
+            }
+        }
+        return items;
+    }
+}
@@ -0,0 +1,494 @@
+package com.swevmc.storage;
+
+import com.swevmc.scc;
+import com.swevmc.models.ChunkCollector;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only binary storage. Every change is appended to a journal as a
+ * CRC-checked record; once the journal grows past a threshold it is rotated
+ * and folded into a snapshot on a background thread. Startup replays the
+ * snapshot, then any journal left from an interrupted compaction, then the
+ * live journal. A torn record at the journal tail is cut off.
+ */
+public class JournalStorage implements StorageInterface {
+
+    private static final int SNAPSHOT_MAGIC = 0x53434353;
+    private static final int FORMAT_VERSION = 1;
+    private static final int MAX_RECORD_SIZE = 64 << 20;
+
+    private static final byte RECORD_UPSERT = 1;
+    private static final byte RECORD_DELETE = 2;
+    private static final byte RECORD_CLEAR = 3;
+    private static final byte RECORD_PAYOUTS = 4;
+
+    private final scc plugin;
+    private final File snapshotFile;
+    private final File journalFile;
+    private final File compactingFile;
+    private final long compactThreshold;
+    private final boolean fsync;
+
+    private final Map<UUID, byte[]> state = new LinkedHashMap<>();
+    private final Map<UUID, Double> payouts = new HashMap<>();
+    private final AtomicLong bytesWritten = new AtomicLong();
+    private final ExecutorService compactor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "ChunkCollector-JournalCompactor");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private FileChannel journal;
+    private long journalSize;
+    private boolean compacting;
+
+    public JournalStorage(scc plugin, long compactThreshold, boolean fsync) {
+        this.plugin = plugin;
+        File folder = new File(plugin.getDataFolder(), "journal");
+        this.snapshotFile = new File(folder, "collectors.snapshot");
+        this.journalFile = new File(folder, "collectors.journal");
+        this.compactingFile = new File(folder, "collectors.journal.compacting");
+        this.compactThreshold = compactThreshold;
+        this.fsync = fsync;
+    }
+
+    @Override
+    public synchronized boolean initialize() {
+        try {
+            Files.createDirectories(journalFile.getParentFile().toPath());
+
+            readSnapshot();
+            if (compactingFile.exists()) {
+                replay(compactingFile, false);
+            }
+            if (journalFile.exists()) {
+                replay(journalFile, true);
+            }
+
+            if (compactingFile.exists() || journalFile.length() >= compactThreshold) {
+                writeSnapshot(new ArrayList<>(state.values()), new HashMap<>(payouts));
+                Files.deleteIfExists(compactingFile.toPath());
+                Files.deleteIfExists(journalFile.toPath());
+            }
+
+            openJournal();
+            plugin.getLogger().info("Journal storage loaded " + state.size() + " collectors");
+            return true;
+        } catch (IOException e) {
+            plugin.getLogger().severe("Failed to initialize journal storage: " + e.getMessage());
+            return false;
+        }
+    }
+
+    @Override
+    public void shutdown() {
+        compactor.shutdown();
+        try {
+            if (!compactor.awaitTermination(30, TimeUnit.SECONDS)) {
+                plugin.getLogger().warning("Journal compaction still running at shutdown, it will resume on start");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        synchronized (this) {
+            closeJournal();
+        }
+    }
+
+    @Override
+    public synchronized boolean saveCollectors(List<ChunkCollector> collectors) {
+        List<byte[]> records = new ArrayList<>(collectors.size());
+        for (ChunkCollector collector : collectors) {
+            records.add(CollectorCodec.encode(collector));
+        }
+
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(buffer)) {
+            writeRecord(out, RECORD_CLEAR, new byte[0]);
+            for (byte[] record : records) {
+                writeRecord(out, RECORD_UPSERT, record);
+            }
+        } catch (IOException e) {
+            plugin.getLogger().severe("Failed to encode collectors for journal: " + e.getMessage());
+            return false;
+        }
+
+        if (!append(buffer.toByteArray())) {
+            return false;
+        }
+        state.clear();
+        for (byte[] record : records) {
+            state.put(CollectorCodec.readUuid(record), record);
+        }
+        maybeCompact();
+        return true;
+    }
+
+    @Override
+    public synchronized List<ChunkCollector> loadCollectors() {
+        List<ChunkCollector> collectors = new ArrayList<>(state.size());
+        for (byte[] record : state.values()) {
+            try {
+                ChunkCollector collector = CollectorCodec.read(record, plugin);
+                if (collector != null) {
+                    collectors.add(collector);
+                }
+            } catch (IOException e) {
+                plugin.getLogger().warning("Failed to decode collector " + CollectorCodec.readUuid(record)
+                        + " from journal: " + e.getMessage());
+            }
+        }
+        return collectors;
+    }
+
+    @Override
+    public boolean saveCollector(ChunkCollector collector) {
+        return saveChanges(Collections.singletonList(collector), Collections.emptyList());
+    }
+
+    @Override
+    public synchronized boolean deleteCollector(UUID collectorUuid) {
+        if (!state.containsKey(collectorUuid)) {
+            return false;
+        }
+        return saveChanges(Collections.emptyList(), Collections.singletonList(collectorUuid));
+    }
+
+    @Override
+    public synchronized boolean saveChanges(List<ChunkCollector> updated, List<UUID> deleted) {
+        List<byte[]> records = new ArrayList<>(updated.size());
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(buffer)) {
+            for (ChunkCollector collector : updated) {
+                byte[] record = CollectorCodec.encode(collector);
+                records.add(record);
+                writeRecord(out, RECORD_UPSERT, record);
+            }
+            for (UUID collectorUuid : deleted) {
+                writeRecord(out, RECORD_DELETE, CollectorCodec.uuidBytes(collectorUuid));
+            }
+        } catch (IOException e) {
+            plugin.getLogger().severe("Failed to encode collector changes for journal: " + e.getMessage());
+            return false;
+        }
+
+        if (!append(buffer.toByteArray())) {
+            return false;
+        }
+        for (byte[] record : records) {
+            state.put(CollectorCodec.readUuid(record), record);
+        }
+        for (UUID collectorUuid : deleted) {
+            state.remove(collectorUuid);
+        }
+        maybeCompact();
+        return true;
+    }
+
+    @Override
+    public synchronized Map<UUID, Double> loadPendingPayouts() {
+        return new HashMap<>(payouts);
+    }
+
+    @Override
+    public synchronized boolean savePendingPayouts(Map<UUID, Double> payouts) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(buffer)) {
+            writeRecord(out, RECORD_PAYOUTS, CollectorCodec.encodePayouts(payouts));
+        } catch (IOException e) {
+            plugin.getLogger().severe("Failed to encode pending payouts for journal: " + e.getMessage());
+            return false;
+        }
+
+        if (!append(buffer.toByteArray())) {
+            return false;
+        }
+        this.payouts.clear();
+        this.payouts.putAll(payouts);
+        maybeCompact();
+        return true;
+    }
+
+    @Override
+    public long getBytesWritten() {
+        return bytesWritten.get();
+    }
+
+    @Override
+    public synchronized boolean isConnected() {
+        return journal != null && journal.isOpen();
+    }
+
+    private boolean append(byte[] data) {
+        if (journal == null) {
+            plugin.getLogger().severe("Journal storage is not open");
+            return false;
+        }
+
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(data);
+            while (buffer.hasRemaining()) {
+                journal.write(buffer);
+            }
+            if (fsync) {
+                journal.force(false);
+            }
+            journalSize += data.length;
+            bytesWritten.addAndGet(data.length);
+            return true;
+        } catch (IOException e) {
+            plugin.getLogger().severe("Failed to append to collector journal: " + e.getMessage());
+            try {
+                journal.truncate(journalSize);
+            } catch (IOException truncateError) {
+                plugin.getLogger().severe("Failed to roll back partial journal write: " + truncateError.getMessage());
+            }
+            return false;
+        }
+    }
+
+    private void maybeCompact() {
+        if (compacting || journalSize < compactThreshold) {
+            return;
+        }
+
+        try {
+            closeJournal();
+            if (compactingFile.exists()) {
+                // A failed compaction left its rotated journal behind, fold this one in after it
+                appendJournal(journalFile, compactingFile);
+                Files.delete(journalFile.toPath());
+            } else {
+                Files.move(journalFile.toPath(), compactingFile.toPath(), StandardCopyOption.ATOMIC_MOVE);
+            }
+            openJournal();
+        } catch (IOException e) {
+            plugin.getLogger().severe("Failed to rotate collector journal: " + e.getMessage());
+            try {
+                if (journal == null) {
+                    openJournal();
+                }
+            } catch (IOException reopenError) {
+                plugin.getLogger().severe("Failed to reopen collector journal: " + reopenError.getMessage());
+            }
+            return;
+        }
+
+        compacting = true;
+        List<byte[]> records = new ArrayList<>(state.values());
+        Map<UUID, Double> payoutsCopy = new HashMap<>(payouts);
+        compactor.execute(() -> compact(records, payoutsCopy));
+    }
+
+    private void compact(List<byte[]> records, Map<UUID, Double> payoutsCopy) {
+        long startTime = System.nanoTime();
+        try {
+            writeSnapshot(records, payoutsCopy);
+            Files.delete(compactingFile.toPath());
+            synchronized (this) {
+                compacting = false;
+            }
+            plugin.getLogger().fine("Compacted collector journal into " + records.size() + " records in "
+                    + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime) + "ms");
+        } catch (IOException e) {
+            // The rotated journal stays on disk and is merged into the next compaction
+            synchronized (this) {
+                compacting = false;
+            }
+            plugin.getLogger().severe("Failed to compact collector journal, will retry: " + e.getMessage());
+        }
+    }
+
+    private void appendJournal(File source, File target) throws IOException {
+        try (FileChannel in = FileChannel.open(source.toPath(), StandardOpenOption.READ);
+                FileChannel out = FileChannel.open(target.toPath(), StandardOpenOption.WRITE,
+                        StandardOpenOption.APPEND)) {
+            long originalSize = out.size();
+            try {
+                long position = 0;
+                long size = in.size();
+                while (position < size) {
+                    position += in.transferTo(position, size - position, out);
+                }
+                out.force(false);
+            } catch (IOException e) {
+                // A torn copy would hide every record appended after it on replay
+                out.truncate(originalSize);
+                throw e;
+            }
+        }
+    }
+
+    private void writeSnapshot(List<byte[]> records, Map<UUID, Double> payoutsCopy) throws IOException {
+        File temp = new File(snapshotFile.getPath() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp.toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+                DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                        Channels.newOutputStream(channel), 1 << 16))) {
+            out.writeInt(SNAPSHOT_MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            for (byte[] record : records) {
+                writeRecord(out, RECORD_UPSERT, record);
+            }
+            writeRecord(out, RECORD_PAYOUTS, CollectorCodec.encodePayouts(payoutsCopy));
+            out.flush();
+            channel.force(true);
+            bytesWritten.addAndGet(channel.size());
+        }
+        Files.move(temp.toPath(), snapshotFile.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private void readSnapshot() throws IOException {
+        if (!snapshotFile.exists()) {
+            return;
+        }
+
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(snapshotFile.toPath()), 1 << 16))) {
+            if (in.readInt() != SNAPSHOT_MAGIC) {
+                throw new IOException("not a collector snapshot");
+            }
+            int version = in.readInt();
+            if (version != FORMAT_VERSION) {
+                throw new IOException("unsupported snapshot version " + version);
+            }
+            if (readRecords(in) >= 0) {
+                throw new IOException("snapshot is corrupt");
+            }
+        }
+    }
+
+    private void replay(File file, boolean truncateTail) throws IOException {
+        long validLength;
+        try (InputStream stream = new BufferedInputStream(Files.newInputStream(file.toPath()), 1 << 16)) {
+            validLength = readRecords(new DataInputStream(stream));
+        }
+
+        if (validLength >= 0) {
+            plugin.getLogger().warning("Discarding " + (file.length() - validLength)
+                    + " bytes of incomplete records at the end of " + file.getName());
+            if (truncateTail) {
+                try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.WRITE)) {
+                    channel.truncate(validLength);
+                }
+            }
+        }
+    }
+
+    /**
+     * Applies records until end of stream. Returns -1 if every record was
+     * intact, otherwise the offset of the first bad record.
+     */
+    private long readRecords(DataInputStream in) throws IOException {
+        CRC32 crc = new CRC32();
+        long offset = 0;
+        while (true) {
+            int length;
+            try {
+                length = in.readInt();
+            } catch (EOFException e) {
+                return -1;
+            }
+
+            try {
+                if (length < 0 || length > MAX_RECORD_SIZE) {
+                    return offset;
+                }
+                byte type = in.readByte();
+                byte[] payload = new byte[length];
+                in.readFully(payload);
+                int expected = in.readInt();
+
+                crc.reset();
+                crc.update(type);
+                crc.update(payload);
+                if ((int) crc.getValue() != expected) {
+                    return offset;
+                }
+
+                apply(type, payload);
+                offset += 9 + length;
+            } catch (EOFException e) {
+                return offset;
+            }
+        }
+    }
+
+    private void apply(byte type, byte[] payload) throws IOException {
+        switch (type) {
+            case RECORD_UPSERT:
+                state.put(CollectorCodec.readUuid(payload), payload);
+                break;
+            case RECORD_DELETE:
+                state.remove(CollectorCodec.readUuid(payload));
+                break;
+            case RECORD_CLEAR:
+                state.clear();
+                break;
+            case RECORD_PAYOUTS:
+                payouts.clear();
+                payouts.putAll(CollectorCodec.decodePayouts(payload));
+                break;
+            default:
+                throw new IOException("unknown journal record type " + type);
+        }
+    }
+
+    private static void writeRecord(DataOutputStream out, byte type, byte[] payload) throws IOException {
+        CRC32 crc = new CRC32();
+        crc.update(type);
+        crc.update(payload);
+
+        out.writeInt(payload.length);
+        out.writeByte(type);
+        out.write(payload);
+        out.writeInt((int) crc.getValue());
+    }
+
+    private void openJournal() throws IOException {
+        journal = FileChannel.open(journalFile.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+        journalSize = journal.size();
+    }
+
+    private void closeJournal() {
+        if (journal == null) {
+            return;
+        }
+        try {
+            journal.close();
+        } catch (IOException e) {
+            plugin.getLogger().warning("Failed to close collector journal: " + e.getMessage());
+        }
+        journal = null;
+    }
+}
@@ -0,0 +1,512 @@
+package com.swevmc.storage;
+
+import com.swevmc.scc;
+import com.swevmc.models.ChunkCollector;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.World;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Storage where each collector's mutable state lives in a fixed-size slot of
+ * a memory-mapped file, so a save is a handful of writes into the mapped
+ * region and the OS flushes it in the background. Identity and location,
+ * which never change, live in a small side index that is rewritten only when
+ * collectors are added or removed. Item types that do not fit in a slot spill
+ * into overflow slots chained from the collector's index entry.
+ */
+public class MappedStorage implements StorageInterface {
+
+    private static final int INDEX_MAGIC = 0x5343434D;
+    private static final int FORMAT_VERSION = 2;
+    private static final int INITIAL_SLOTS = 1024;
+
+    private static final int SLOT_SIZE = 512;
+    private static final int HEADER_SIZE = 64;
+    private static final int MATERIAL_ENTRY_SIZE = 6;
+    private static final int MAX_MATERIALS = (SLOT_SIZE - HEADER_SIZE) / MATERIAL_ENTRY_SIZE;
+
+    private static final int UUID_MOST = 0;
+    private static final int UUID_LEAST = 8;
+    private static final int TIME_REMAINING = 16;
+    private static final int MAX_CHARGE_TIME = 24;
+    private static final int TOTAL_MONEY_EARNED = 32;
+    private static final int LAST_AUTOSELL_TIME = 40;
+    private static final int ITEMS_COLLECTED = 48;
+    private static final int MATERIAL_COUNT = 52;
+    private static final int ACTIVE = 54;
+    private static final int CHARGE_EXPIRES_AT = 56;
+
+    private final scc plugin;
+    private final File slotsFile;
+    private final File indexFile;
+    private final File payoutsFile;
+
+    private final Map<UUID, IndexEntry> entries = new LinkedHashMap<>();
+    private final BitSet usedSlots = new BitSet();
+    private final List<String> palette = new ArrayList<>();
+    private final Map<String, Integer> paletteIds = new HashMap<>();
+    private final Map<UUID, Double> payouts = new HashMap<>();
+    private final AtomicLong bytesWritten = new AtomicLong();
+
+    private FileChannel channel;
+    private MappedByteBuffer slots;
+    private int capacity;
+    private boolean indexDirty;
+
+    public MappedStorage(scc plugin) {
+        this.plugin = plugin;
+        File folder = new File(plugin.getDataFolder(), "mapped");
+        this.slotsFile = new File(folder, "collectors.slots");
+        this.indexFile = new File(folder, "collectors.index");
+        this.payoutsFile = new File(folder, "payouts.dat");
+    }
+
+    @Override
+    public synchronized boolean initialize() {
+        try {
+            Files.createDirectories(slotsFile.getParentFile().toPath());
+            readIndex();
+            readPayouts();
+
+            channel = FileChannel.open(slotsFile.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+            int storedSlots = (int) (channel.size() / SLOT_SIZE);
+            map(Math.max(INITIAL_SLOTS, Math.max(storedSlots, usedSlots.length())));
+            return true;
+        } catch (IOException e) {
+            plugin.getLogger().severe("Failed to initialize mapped storage: " + e.getMessage());
+            return false;
+        }
+    }
+
+    @Override
+    public synchronized void shutdown() {
+        if (slots != null) {
+            slots.force();
+        }
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                plugin.getLogger().warning("Failed to close mapped storage: " + e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public synchronized boolean saveCollectors(List<ChunkCollector> collectors) {
+        for (IndexEntry entry : entries.values()) {
+            clearSlot(entry.slot);
+            for (int slot : entry.overflow) {
+                clearSlot(slot);
+            }
+        }
+        entries.clear();
+        usedSlots.clear();
+        indexDirty = true;
+        return saveChanges(collectors, Collections.emptyList());
+    }
+
+    @Override
+    public synchronized List<ChunkCollector> loadCollectors() {
+        List<ChunkCollector> collectors = new ArrayList<>(entries.size());
+        for (Map.Entry<UUID, IndexEntry> mapEntry : entries.entrySet()) {
+            UUID uuid = mapEntry.getKey();
+            IndexEntry entry = mapEntry.getValue();
+
+            int base = entry.slot * SLOT_SIZE;
+            if (slots.getLong(base + UUID_MOST) != uuid.getMostSignificantBits()
+                    || slots.getLong(base + UUID_LEAST) != uuid.getLeastSignificantBits()) {
+                plugin.getLogger().warning("Mapped slot " + entry.slot + " does not belong to collector " + uuid
+                        + ", skipping it");
+                continue;
+            }
+
+            World world = plugin.getServer().getWorld(entry.world);
+            if (world == null) {
+                plugin.getLogger().warning("World not found: " + entry.world + " for collector " + uuid);
+                continue;
+            }
+
+            ChunkCollector collector = new ChunkCollector(uuid, entry.ownerUuid, entry.ownerName,
+                    new Location(world, entry.x, entry.y, entry.z, entry.yaw, entry.pitch), entry.createdAt,
+                    slots.getLong(base + CHARGE_EXPIRES_AT), slots.getLong(base + TIME_REMAINING),
+                    slots.getInt(base + ITEMS_COLLECTED), slots.get(base + ACTIVE) != 0);
+            collector.setMaxChargeTime(slots.getLong(base + MAX_CHARGE_TIME));
+            collector.setTotalMoneyEarned(slots.getDouble(base + TOTAL_MONEY_EARNED));
+            collector.setLastAutosellTime(slots.getLong(base + LAST_AUTOSELL_TIME));
+            collector.setVirtualItems(readMaterials(uuid, entry));
+            collectors.add(collector);
+        }
+        return collectors;
+    }
+
+    @Override
+    public boolean saveCollector(ChunkCollector collector) {
+        return saveChanges(Collections.singletonList(collector), Collections.emptyList());
+    }
+
+    @Override
+    public synchronized boolean deleteCollector(UUID collectorUuid) {
+        if (!entries.containsKey(collectorUuid)) {
+            return false;
+        }
+        return saveChanges(Collections.emptyList(), Collections.singletonList(collectorUuid));
+    }
+
+    @Override
+    public synchronized boolean saveChanges(List<ChunkCollector> updated, List<UUID> deleted) {
+        try {
+            for (ChunkCollector collector : updated) {
+                IndexEntry entry = entries.get(collector.getUuid());
+                if (entry == null) {
+                    entry = IndexEntry.of(collector, usedSlots.nextClearBit(0));
+                    ensureCapacity(entry.slot + 1);
+                    usedSlots.set(entry.slot);
+                    entries.put(collector.getUuid(), entry);
+                    indexDirty = true;
+                }
+                writeSlot(entry, collector);
+            }
+
+            for (UUID collectorUuid : deleted) {
+                IndexEntry entry = entries.remove(collectorUuid);
+                if (entry != null) {
+                    clearSlot(entry.slot);
+                    usedSlots.clear(entry.slot);
+                    for (int slot : entry.overflow) {
+                        clearSlot(slot);
+                        usedSlots.clear(slot);
+                    }
+                    indexDirty = true;
+                }
+            }
+
+            if (indexDirty) {
+                // Slots must reach disk before an index that points at them
+                slots.force();
+                writeIndex();
+                indexDirty = false;
+            }
+            return true;
+        } catch (IOException e) {
+            plugin.getLogger().severe("Failed to save collector changes to mapped storage: " + e.getMessage());
+            return false;
+        }
+    }
+
+    @Override
+    public synchronized Map<UUID, Double> loadPendingPayouts() {
+        return new HashMap<>(payouts);
+    }
+
+    @Override
+    public synchronized boolean savePendingPayouts(Map<UUID, Double> payouts) {
+        try {
+            File temp = new File(payoutsFile.getPath() + ".tmp");
+            try (FileOutputStream file = new FileOutputStream(temp);
+                    DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file))) {
+                CollectorCodec.writePayouts(out, payouts);
+                out.flush();
+                file.getFD().sync();
+                bytesWritten.addAndGet(out.size());
+            }
+            Files.move(temp.toPath(), payoutsFile.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+
+            this.payouts.clear();
+            this.payouts.putAll(payouts);
+            return true;
+        } catch (IOException e) {
+            plugin.getLogger().severe("Failed to save pending payouts to mapped storage: " + e.getMessage());
+            return false;
+        }
+    }
+
+    @Override
+    public long getBytesWritten() {
+        return bytesWritten.get();
+    }
+
+    @Override
+    public synchronized boolean isConnected() {
+        return channel != null && channel.isOpen();
+    }
+
+    private void writeSlot(IndexEntry entry, ChunkCollector collector) throws IOException {
+        Map<Material, Integer> items = collector.getVirtualItems();
+        resizeOverflow(entry, Math.max(0, (items.size() - 1) / MAX_MATERIALS));
+
+        int base = entry.slot * SLOT_SIZE;
+        slots.putLong(base + TIME_REMAINING, collector.getStoredTimeRemaining());
+        slots.putLong(base + MAX_CHARGE_TIME, collector.getMaxChargeTime());
+        slots.putDouble(base + TOTAL_MONEY_EARNED, collector.getTotalMoneyEarned());
+        slots.putLong(base + LAST_AUTOSELL_TIME, collector.getLastAutosellTime());
+        slots.putInt(base + ITEMS_COLLECTED, collector.getItemsCollected());
+        slots.put(base + ACTIVE, (byte) (collector.isActive() ? 1 : 0));
+        slots.putLong(base + CHARGE_EXPIRES_AT, collector.getStoredChargeExpiresAt());
+
+        int slot = entry.slot;
+        int chained = 0;
+        int count = 0;
+        int position = base + HEADER_SIZE;
+        for (Map.Entry<Material, Integer> item : items.entrySet()) {
+            if (count == MAX_MATERIALS) {
+                writeMaterialSlot(slot, collector.getUuid(), count);
+                slot = entry.overflow[chained++];
+                count = 0;
+                position = slot * SLOT_SIZE + HEADER_SIZE;
+            }
+            slots.putShort(position, (short) paletteId(item.getKey().name()));
+            slots.putInt(position + 2, item.getValue());
+            position += MATERIAL_ENTRY_SIZE;
+            count++;
+        }
+        writeMaterialSlot(slot, collector.getUuid(), count);
+        bytesWritten.addAndGet((long) HEADER_SIZE * (1 + chained) + (long) items.size() * MATERIAL_ENTRY_SIZE);
+    }
+
+    private void writeMaterialSlot(int slot, UUID uuid, int count) {
+        int base = slot * SLOT_SIZE;
+        slots.putLong(base + UUID_MOST, uuid.getMostSignificantBits());
+        slots.putLong(base + UUID_LEAST, uuid.getLeastSignificantBits());
+        slots.putShort(base + MATERIAL_COUNT, (short) count);
+    }
+
+    private void resizeOverflow(IndexEntry entry, int required) throws IOException {
+        if (entry.overflow.length == required) {
+            return;
+        }
+
+        int[] overflow = Arrays.copyOf(entry.overflow, required);
+        for (int i = entry.overflow.length; i < required; i++) {
+            overflow[i] = usedSlots.nextClearBit(0);
+            ensureCapacity(overflow[i] + 1);
+            usedSlots.set(overflow[i]);
+        }
+        for (int i = required; i < entry.overflow.length; i++) {
+            clearSlot(entry.overflow[i]);
+            usedSlots.clear(entry.overflow[i]);
+        }
+        entry.overflow = overflow;
+        indexDirty = true;
+    }
+
+    private Map<Material, Integer> readMaterials(UUID uuid, IndexEntry entry) {
+        Map<Material, Integer> materials = new EnumMap<>(Material.class);
+        readMaterials(entry.slot * SLOT_SIZE, materials);
+        for (int slot : entry.overflow) {
+            int base = slot * SLOT_SIZE;
+            if (slot >= capacity || slots.getLong(base + UUID_MOST) != uuid.getMostSignificantBits()
+                    || slots.getLong(base + UUID_LEAST) != uuid.getLeastSignificantBits()) {
+                plugin.getLogger().warning("Overflow slot " + slot + " does not belong to collector " + uuid
+                        + ", some of its items were not restored");
+                continue;
+            }
+            readMaterials(base, materials);
+        }
+        return materials;
+    }
+
+    private void readMaterials(int base, Map<Material, Integer> materials) {
+        int count = Math.min(slots.getShort(base + MATERIAL_COUNT), MAX_MATERIALS);
+        int position = base + HEADER_SIZE;
+        for (int i = 0; i < count; i++, position += MATERIAL_ENTRY_SIZE) {
+            int id = slots.getShort(position);
+            Material material = id >= 0 && id < palette.size() ? Material.getMaterial(palette.get(id)) : null;
+            if (material != null) {
+                materials.put(material, slots.getInt(position + 2));
+            }
+        }
+    }
+
+    private void clearSlot(int slot) {
+        int base = slot * SLOT_SIZE;
+        slots.putLong(base + UUID_MOST, 0L);
+        slots.putLong(base + UUID_LEAST, 0L);
+        slots.putShort(base + MATERIAL_COUNT, (short) 0);
+    }
+
+    private int paletteId(String materialName) {
+        Integer id = paletteIds.get(materialName);
+        if (id == null) {
+            id = palette.size();
+            palette.add(materialName);
+            paletteIds.put(materialName, id);
+            indexDirty = true;
+        }
+        return id;
+    }
+
+    private void ensureCapacity(int requiredSlots) throws IOException {
+        if (requiredSlots > capacity) {
+            slots.force();
+            map(Math.max(requiredSlots, capacity * 2));
+        }
+    }
+
+    private void map(int slotCount) throws IOException {
+        slots = channel.map(FileChannel.MapMode.READ_WRITE, 0, (long) slotCount * SLOT_SIZE);
+        capacity = slotCount;
+    }
+
+    private void readIndex() throws IOException {
+        if (!indexFile.exists()) {
+            return;
+        }
+
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(indexFile.toPath()), 1 << 16))) {
+            if (in.readInt() != INDEX_MAGIC) {
+                throw new IOException("not a collector index");
+            }
+            int version = in.readInt();
+            if (version < 1 || version > FORMAT_VERSION) {
+                throw new IOException("unsupported index version " + version);
+            }
+
+            int paletteSize = in.readInt();
+            for (int i = 0; i < paletteSize; i++) {
+                String name = in.readUTF();
+                palette.add(name);
+                paletteIds.put(name, i);
+            }
+
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                UUID uuid = CollectorCodec.readUuid(in);
+                IndexEntry entry = IndexEntry.read(in, version);
+                entries.put(uuid, entry);
+                usedSlots.set(entry.slot);
+                for (int slot : entry.overflow) {
+                    usedSlots.set(slot);
+                }
+            }
+        }
+    }
+
+    private void writeIndex() throws IOException {
+        File temp = new File(indexFile.getPath() + ".tmp");
+        try (FileOutputStream file = new FileOutputStream(temp);
+                DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file, 1 << 16))) {
+            out.writeInt(INDEX_MAGIC);
+            out.writeInt(FORMAT_VERSION);
+
+            out.writeInt(palette.size());
+            for (String name : palette) {
+                out.writeUTF(name);
+            }
+
+            out.writeInt(entries.size());
+            for (Map.Entry<UUID, IndexEntry> entry : entries.entrySet()) {
+                CollectorCodec.writeUuid(out, entry.getKey());
+                entry.getValue().write(out);
+            }
+            out.flush();
+            file.getFD().sync();
+            bytesWritten.addAndGet(out.size());
+        }
+        Files.move(temp.toPath(), indexFile.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private void readPayouts() throws IOException {
+        if (!payoutsFile.exists()) {
+            return;
+        }
+
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(payoutsFile.toPath())))) {
+            payouts.putAll(CollectorCodec.readPayouts(in));
+        }
+    }
+
+    private static final class IndexEntry {
+
+        private final int slot;
+        private final UUID ownerUuid;
+        private final String ownerName;
+        private final String world;
+        private final double x;
+        private final double y;
+        private final double z;
+        private final float yaw;
+        private final float pitch;
+        private final long createdAt;
+        private int[] overflow = new int[0];
+
+        private IndexEntry(int slot, UUID ownerUuid, String ownerName, String world, double x, double y, double z,
+                float yaw, float pitch, long createdAt) {
+            this.slot = slot;
+            this.ownerUuid = ownerUuid;
+            this.ownerName = ownerName;
+            this.world = world;
+            this.x = x;
+            this.y = y;
+            this.z = z;
+            this.yaw = yaw;
+            this.pitch = pitch;
+            this.createdAt = createdAt;
+        }
+
+        private static IndexEntry of(ChunkCollector collector, int slot) {
+            Location location = collector.getLocation();
+            return new IndexEntry(slot, collector.getOwnerUuid(), collector.getOwnerName(),
+                    location.getWorld().getName(), location.getX(), location.getY(), location.getZ(),
+                    location.getYaw(), location.getPitch(), collector.getCreatedAt());
+        }
+
+        private static IndexEntry read(DataInputStream in, int version) throws IOException {
+            IndexEntry entry = new IndexEntry(in.readInt(), CollectorCodec.readUuid(in), in.readUTF(), in.readUTF(),
+                    in.readDouble(), in.readDouble(), in.readDouble(), in.readFloat(), in.readFloat(), in.readLong());
+            if (version >= 2) {
+                entry.overflow = new int[in.readInt()];
+                for (int i = 0; i < entry.overflow.length; i++) {
+                    entry.overflow[i] = in.readInt();
+                }
+            }
+            return entry;
+        }
+
+        private void write(DataOutputStream out) throws IOException {
+            out.writeInt(slot);
+            CollectorCodec.writeUuid(out, ownerUuid);
+            out.writeUTF(ownerName);
+            out.writeUTF(world);
+            out.writeDouble(x);
+            out.writeDouble(y);
+            out.writeDouble(z);
+            out.writeFloat(yaw);
+            out.writeFloat(pitch);
+            out.writeLong(createdAt);
+            out.writeInt(overflow.length);
+            for (int slot : overflow) {
+                out.writeInt(slot);
+            }
+        }
+    }
+}
@@ -5,14 +5,49 @@ import com.swevmc.models.ChunkCollector;
 import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
 import org.bukkit.Location;
+import org.bukkit.Material;
 
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class MySQLStorage implements StorageInterface {
 
+    // Bound numeric columns of a collector row: 9 eight-byte, 2 floats, 1 int, 1 boolean
+    private static final int FIXED_COLUMN_BYTES = 9 * 8 + 2 * 4 + 4 + 1;
+    private static final int UUID_BYTES = 16;
+
+    private static final String UPSERT_SQL = """
+            INSERT INTO chunk_collectors (uuid, owner_uuid, owner_name, world, x, y, z, yaw, pitch,
+                created_at, time_remaining, items_collected, active, max_charge_time,
+                total_money_earned, last_autosell_time, charge_expires_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            ON DUPLICATE KEY UPDATE
+                owner_name = VALUES(owner_name),
+                time_remaining = VALUES(time_remaining),
+                charge_expires_at = VALUES(charge_expires_at),
+                items_collected = VALUES(items_collected),
+                active = VALUES(active),
+                max_charge_time = VALUES(max_charge_time),
+                total_money_earned = VALUES(total_money_earned),
+                last_autosell_time = VALUES(last_autosell_time)
+            """;
+
+    private static final String UPSERT_ITEM_SQL = """
+            INSERT INTO chunk_collector_items (collector_uuid, material, amount) VALUES (?, ?, ?)
+            ON DUPLICATE KEY UPDATE amount = VALUES(amount)
+            """;
+
     private final scc plugin;
     private final String host;
     private final int port;
@@ -22,6 +57,11 @@ public class MySQLStorage implements StorageInterface {
     private final boolean useSSL;
 
     private HikariDataSource dataSource;
+    private final AtomicLong bytesWritten = new AtomicLong();
+    // Encoded state of each row (without items) as last written, so unchanged collectors are not re-sent
+    private final Map<UUID, byte[]> writtenRows = new ConcurrentHashMap<>();
+    // Virtual items of each collector as last written, so only changed materials are sent
+    private final Map<UUID, Map<Material, Integer>> writtenItems = new ConcurrentHashMap<>();
 
     public MySQLStorage(scc plugin, String host, int port, String database, String username, String password,
             boolean useSSL) {
@@ -39,7 +79,8 @@ public class MySQLStorage implements StorageInterface {
         try {
             HikariConfig config = new HikariConfig();
             config.setJdbcUrl(
-                    "jdbc:mysql://" + host + ":" + port + "/" + database + "?useSSL=" + useSSL + "&serverTimezone=UTC");
+                    "jdbc:mysql://" + host + ":" + port + "/" + database + "?useSSL=" + useSSL + "&serverTimezone=UTC"
+                            + "&rewriteBatchedStatements=true");
             config.setUsername(username);
             config.setPassword(password);
             config.setDriverClassName("com.mysql.cj.jdbc.Driver");
@@ -64,10 +105,12 @@ public class MySQLStorage implements StorageInterface {
     }
 
     private void createTables(Connection connection) throws SQLException {
+        migrateUuidKeys(connection);
+
         String createTableSQL = """
                 CREATE TABLE IF NOT EXISTS chunk_collectors (
-                    uuid VARCHAR(36) PRIMARY KEY,
-                    owner_uuid VARCHAR(36) NOT NULL,
+                    uuid BINARY(16) PRIMARY KEY,
+                    owner_uuid BINARY(16) NOT NULL,
                     owner_name VARCHAR(16) NOT NULL,
                     world VARCHAR(64) NOT NULL,
                     x DOUBLE NOT NULL,
@@ -82,7 +125,7 @@ public class MySQLStorage implements StorageInterface {
                     max_charge_time BIGINT NOT NULL DEFAULT 0,
                     total_money_earned DOUBLE NOT NULL DEFAULT 0.0,
                     last_autosell_time BIGINT NOT NULL DEFAULT 0,
-                    virtual_items TEXT,
+                    charge_expires_at BIGINT NOT NULL DEFAULT 0,
                     INDEX idx_owner_uuid (owner_uuid),
                     INDEX idx_location (world, x, y, z)
                 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci
@@ -91,6 +134,132 @@ public class MySQLStorage implements StorageInterface {
         try (PreparedStatement statement = connection.prepareStatement(createTableSQL)) {
             statement.executeUpdate();
         }
+
+        if (columnType(connection, "chunk_collectors", "charge_expires_at") == null) {
+            try (Statement statement = connection.createStatement()) {
+                statement.executeUpdate(
+                        "ALTER TABLE chunk_collectors ADD COLUMN charge_expires_at BIGINT NOT NULL DEFAULT 0");
+            }
+        }
+
+        String createItemsSQL = """
+                CREATE TABLE IF NOT EXISTS chunk_collector_items (
+                    collector_uuid BINARY(16) NOT NULL,
+                    material VARCHAR(64) NOT NULL,
+                    amount INT NOT NULL,
+                    PRIMARY KEY (collector_uuid, material),
+                    FOREIGN KEY (collector_uuid) REFERENCES chunk_collectors (uuid) ON DELETE CASCADE
+                ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci
+                """;
+
+        try (PreparedStatement statement = connection.prepareStatement(createItemsSQL)) {
+            statement.executeUpdate();
+        }
+
+        String createPayoutsSQL = """
+                CREATE TABLE IF NOT EXISTS chunk_collector_payouts (
+                    owner_uuid BINARY(16) PRIMARY KEY,
+                    amount DOUBLE NOT NULL
+                ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci
+                """;
+
+        try (PreparedStatement statement = connection.prepareStatement(createPayoutsSQL)) {
+            statement.executeUpdate();
+        }
+
+        migrateVirtualItems(connection);
+    }
+
+    /**
+     * Moves virtual items from the old {@code MATERIAL:count} text column
+     * into chunk_collector_items and drops the column. Rows are inserted with
+     * INSERT IGNORE so an interrupted migration can simply run again.
+     */
+    private void migrateVirtualItems(Connection connection) throws SQLException {
+        if (columnType(connection, "chunk_collectors", "virtual_items") == null) {
+            return;
+        }
+
+        plugin.getLogger().info("Migrating virtual items to chunk_collector_items...");
+        int rows = 0;
+        try (PreparedStatement select = connection.prepareStatement(
+                "SELECT uuid, virtual_items FROM chunk_collectors WHERE virtual_items IS NOT NULL AND virtual_items <> ''");
+                PreparedStatement insert = connection.prepareStatement(
+                        "INSERT IGNORE INTO chunk_collector_items (collector_uuid, material, amount) VALUES (?, ?, ?)");
+                ResultSet resultSet = select.executeQuery()) {
+            while (resultSet.next()) {
+                byte[] uuid = resultSet.getBytes("uuid");
+                for (Map.Entry<Material, Integer> entry : ItemDelta.parseLegacy(resultSet.getString("virtual_items"))
+                        .entrySet()) {
+                    insert.setBytes(1, uuid);
+                    insert.setString(2, entry.getKey().name());
+                    insert.setInt(3, entry.getValue());
+                    insert.addBatch();
+                    rows++;
+                }
+            }
+            insert.executeBatch();
+        }
+
+        try (Statement statement = connection.createStatement()) {
+            statement.executeUpdate("ALTER TABLE chunk_collectors DROP COLUMN virtual_items");
+        }
+        plugin.getLogger().info("Migrated " + rows + " virtual item rows");
+    }
+
+    /**
+     * Converts tables created with VARCHAR(36) UUID keys to BINARY(16). Each
+     * table is copied into a new one and swapped in with a single RENAME.
+     */
+    private void migrateUuidKeys(Connection connection) throws SQLException {
+        if ("varchar".equalsIgnoreCase(columnType(connection, "chunk_collectors", "uuid"))) {
+            plugin.getLogger().info("Migrating chunk_collectors to binary UUID keys...");
+            migrateTable(connection, "chunk_collectors",
+                    "MODIFY uuid BINARY(16) NOT NULL, MODIFY owner_uuid BINARY(16) NOT NULL",
+                    """
+                    INSERT INTO chunk_collectors_migrating
+                    SELECT UNHEX(REPLACE(uuid, '-', '')), UNHEX(REPLACE(owner_uuid, '-', '')), owner_name, world,
+                        x, y, z, yaw, pitch, created_at, time_remaining, items_collected, active, max_charge_time,
+                        total_money_earned, last_autosell_time, virtual_items
+                    FROM chunk_collectors
+                    """);
+        }
+
+        if ("varchar".equalsIgnoreCase(columnType(connection, "chunk_collector_payouts", "owner_uuid"))) {
+            plugin.getLogger().info("Migrating chunk_collector_payouts to binary UUID keys...");
+            migrateTable(connection, "chunk_collector_payouts", "MODIFY owner_uuid BINARY(16) NOT NULL",
+                    """
+                    INSERT INTO chunk_collector_payouts_migrating
+                    SELECT UNHEX(REPLACE(owner_uuid, '-', '')), amount FROM chunk_collector_payouts
+                    """);
+        }
+    }
+
+    private void migrateTable(Connection connection, String table, String alterColumns, String copySQL)
+            throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.executeUpdate("DROP TABLE IF EXISTS " + table + "_migrating");
+            statement.executeUpdate("CREATE TABLE " + table + "_migrating LIKE " + table);
+            statement.executeUpdate("ALTER TABLE " + table + "_migrating " + alterColumns);
+            int rows = statement.executeUpdate(copySQL);
+            statement.executeUpdate("RENAME TABLE " + table + " TO " + table + "_varchar, "
+                    + table + "_migrating TO " + table);
+            statement.executeUpdate("DROP TABLE " + table + "_varchar");
+            plugin.getLogger().info("Migrated " + rows + " rows in " + table);
+        }
+    }
+
+    private String columnType(Connection connection, String table, String column) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("""
+                SELECT DATA_TYPE FROM information_schema.COLUMNS
+                WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND COLUMN_NAME = ?
+                """)) {
+            statement.setString(1, table);
+            statement.setString(2, column);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next() ? resultSet.getString(1) : null;
+            }
+        }
     }
 
     @Override
@@ -103,25 +272,28 @@ public class MySQLStorage implements StorageInterface {
     @Override
     public boolean saveCollectors(List<ChunkCollector> collectors) {
         try (Connection connection = dataSource.getConnection()) {
-            try (PreparedStatement clearStatement = connection.prepareStatement("DELETE FROM chunk_collectors")) {
-                clearStatement.executeUpdate();
-            }
-
-            String insertSQL = """
-                    INSERT INTO chunk_collectors (uuid, owner_uuid, owner_name, world, x, y, z, yaw, pitch,
-                        created_at, time_remaining, items_collected, active, max_charge_time,
-                        total_money_earned, last_autosell_time, virtual_items)
-                    VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
-                    """;
-
-            try (PreparedStatement statement = connection.prepareStatement(insertSQL)) {
+            connection.setAutoCommit(false);
+            try {
+                Set<UUID> removed = new HashSet<>();
+                try (PreparedStatement statement = connection.prepareStatement("SELECT uuid FROM chunk_collectors");
+                        ResultSet resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        removed.add(CollectorCodec.readUuid(resultSet.getBytes("uuid")));
+                    }
+                }
                 for (ChunkCollector collector : collectors) {
-                    setCollectorParameters(statement, collector);
-                    statement.addBatch();
+                    removed.remove(collector.getUuid());
                 }
-                statement.executeBatch();
-            }
 
+                Written written = writeChanges(connection, collectors, new ArrayList<>(removed), writtenItems);
+                connection.commit();
+                commitWritten(written, removed);
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
+            }
             return true;
         } catch (Exception e) {
             plugin.getLogger().severe("Failed to save collectors to MySQL: " + e.getMessage());
@@ -134,6 +306,7 @@ public class MySQLStorage implements StorageInterface {
         try (Connection connection = dataSource.getConnection()) {
             String selectSQL = "SELECT * FROM chunk_collectors";
             List<ChunkCollector> collectors = new ArrayList<>();
+            Map<UUID, Map<Material, Integer>> items = loadItems(connection);
 
             try (PreparedStatement statement = connection.prepareStatement(selectSQL);
                     ResultSet resultSet = statement.executeQuery()) {
@@ -141,7 +314,13 @@ public class MySQLStorage implements StorageInterface {
                 while (resultSet.next()) {
                     ChunkCollector collector = resultSetToCollector(resultSet);
                     if (collector != null) {
+                        Map<Material, Integer> virtualItems = items.get(collector.getUuid());
+                        if (virtualItems != null) {
+                            collector.setVirtualItems(virtualItems);
+                            writtenItems.put(collector.getUuid(), virtualItems);
+                        }
                         collectors.add(collector);
+                        writtenRows.put(collector.getUuid(), CollectorCodec.encode(collector, false));
                     }
                 }
             }
@@ -153,53 +332,153 @@ public class MySQLStorage implements StorageInterface {
         }
     }
 
+    private Map<UUID, Map<Material, Integer>> loadItems(Connection connection) throws SQLException {
+        Map<UUID, Map<Material, Integer>> items = new HashMap<>();
+        try (PreparedStatement statement = connection
+                .prepareStatement("SELECT collector_uuid, material, amount FROM chunk_collector_items");
+                ResultSet resultSet = statement.executeQuery()) {
+            while (resultSet.next()) {
+                Material material = Material.getMaterial(resultSet.getString("material"));
+                if (material != null) {
+                    items.computeIfAbsent(CollectorCodec.readUuid(resultSet.getBytes("collector_uuid")),
+                            uuid -> new EnumMap<>(Material.class)).put(material, resultSet.getInt("amount"));
+                }
+            }
+        }
+        return items;
+    }
+
     @Override
     public boolean saveCollector(ChunkCollector collector) {
+        return saveChanges(List.of(collector), List.of());
+    }
+
+    @Override
+    public boolean saveChanges(List<ChunkCollector> updated, List<UUID> deleted) {
         try (Connection connection = dataSource.getConnection()) {
-            String upsertSQL = """
-                    INSERT INTO chunk_collectors (uuid, owner_uuid, owner_name, world, x, y, z, yaw, pitch,
-                        created_at, time_remaining, items_collected, active, max_charge_time,
-                        total_money_earned, last_autosell_time, virtual_items)
-                    VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
-                    ON DUPLICATE KEY UPDATE
-                        owner_uuid = VALUES(owner_uuid),
-                        owner_name = VALUES(owner_name),
-                        world = VALUES(world),
-                        x = VALUES(x),
-                        y = VALUES(y),
-                        z = VALUES(z),
-                        yaw = VALUES(yaw),
-                        pitch = VALUES(pitch),
-                        created_at = VALUES(created_at),
-                        time_remaining = VALUES(time_remaining),
-                        items_collected = VALUES(items_collected),
-                        active = VALUES(active),
-                        max_charge_time = VALUES(max_charge_time),
-                        total_money_earned = VALUES(total_money_earned),
-                        last_autosell_time = VALUES(last_autosell_time),
-                        virtual_items = VALUES(virtual_items)
-                    """;
-
-            try (PreparedStatement statement = connection.prepareStatement(upsertSQL)) {
-                setCollectorParameters(statement, collector);
-                statement.executeUpdate();
+            connection.setAutoCommit(false);
+            try {
+                Written written = writeChanges(connection, updated, deleted, writtenItems);
+                connection.commit();
+                commitWritten(written, deleted);
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
             }
-
             return true;
         } catch (Exception e) {
-            plugin.getLogger().severe("Failed to save collector to MySQL: " + e.getMessage());
+            plugin.getLogger().severe("Failed to save collector changes to MySQL: " + e.getMessage());
             return false;
         }
     }
 
+    /**
+     * Upserts the collectors whose row differs from what was last written,
+     * writes only the materials whose counts differ from {@code previousItems}
+     * and deletes the given collectors, in the caller's transaction. With
+     * rewriteBatchedStatements the driver sends each batch as multi-row
+     * statements. Returns the state to record once the transaction commits.
+     */
+    private Written writeChanges(Connection connection, List<ChunkCollector> updated, List<UUID> deleted,
+            Map<UUID, Map<Material, Integer>> previousItems) throws SQLException {
+        int batchSize = Math.max(1, plugin.getConfigManager().getWriteBatchSize());
+        Written written = new Written();
+        written.bytes = (long) deleted.size() * UUID_BYTES;
+
+        try (PreparedStatement statement = connection.prepareStatement(UPSERT_SQL)) {
+            int batched = 0;
+            for (ChunkCollector collector : updated) {
+                byte[] row = CollectorCodec.encode(collector, false);
+                if (Arrays.equals(row, writtenRows.get(collector.getUuid()))) {
+                    continue;
+                }
+
+                written.bytes += setCollectorParameters(statement, collector);
+                statement.addBatch();
+                written.rows.put(collector.getUuid(), row);
+                if (++batched % batchSize == 0) {
+                    statement.executeBatch();
+                }
+            }
+            if (batched % batchSize != 0) {
+                statement.executeBatch();
+            }
+        }
+
+        // Item rows reference their collector, so they go after the upserts
+        try (PreparedStatement deleteItem = connection.prepareStatement(
+                "DELETE FROM chunk_collector_items WHERE collector_uuid = ? AND material = ?");
+                PreparedStatement upsertItem = connection.prepareStatement(UPSERT_ITEM_SQL)) {
+            int batched = 0;
+            for (ChunkCollector collector : updated) {
+                Map<Material, Integer> items = collector.getVirtualItems();
+                ItemDelta delta = ItemDelta.between(previousItems.getOrDefault(collector.getUuid(), Map.of()), items);
+                if (delta.isEmpty()) {
+                    continue;
+                }
+
+                byte[] uuid = CollectorCodec.uuidBytes(collector.getUuid());
+                for (Material material : delta.removed) {
+                    deleteItem.setBytes(1, uuid);
+                    deleteItem.setString(2, material.name());
+                    deleteItem.addBatch();
+                    written.bytes += UUID_BYTES + material.name().length();
+                }
+                for (Map.Entry<Material, Integer> entry : delta.changed.entrySet()) {
+                    upsertItem.setBytes(1, uuid);
+                    upsertItem.setString(2, entry.getKey().name());
+                    upsertItem.setInt(3, entry.getValue());
+                    upsertItem.addBatch();
+                    written.bytes += UUID_BYTES + entry.getKey().name().length() + 4;
+                }
+                written.items.put(collector.getUuid(), items);
+                if (++batched % batchSize == 0) {
+                    deleteItem.executeBatch();
+                    upsertItem.executeBatch();
+                }
+            }
+            if (batched % batchSize != 0) {
+                deleteItem.executeBatch();
+                upsertItem.executeBatch();
+            }
+        }
+
+        if (!deleted.isEmpty()) {
+            try (PreparedStatement statement = connection
+                    .prepareStatement("DELETE FROM chunk_collectors WHERE uuid = ?")) {
+                for (UUID collectorUuid : deleted) {
+                    statement.setBytes(1, CollectorCodec.uuidBytes(collectorUuid));
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+            }
+        }
+
+        return written;
+    }
+
+    private void commitWritten(Written written, Collection<UUID> deleted) {
+        bytesWritten.addAndGet(written.bytes);
+        writtenRows.putAll(written.rows);
+        writtenItems.putAll(written.items);
+        for (UUID collectorUuid : deleted) {
+            writtenRows.remove(collectorUuid);
+            writtenItems.remove(collectorUuid);
+        }
+    }
+
     @Override
     public boolean deleteCollector(UUID collectorUuid) {
         try (Connection connection = dataSource.getConnection()) {
             String deleteSQL = "DELETE FROM chunk_collectors WHERE uuid = ?";
 
             try (PreparedStatement statement = connection.prepareStatement(deleteSQL)) {
-                statement.setString(1, collectorUuid.toString());
+                statement.setBytes(1, CollectorCodec.uuidBytes(collectorUuid));
                 int rowsAffected = statement.executeUpdate();
+                writtenRows.remove(collectorUuid);
+                writtenItems.remove(collectorUuid);
                 return rowsAffected > 0;
             }
         } catch (Exception e) {
@@ -208,6 +487,58 @@ public class MySQLStorage implements StorageInterface {
         }
     }
 
+    @Override
+    public Map<UUID, Double> loadPendingPayouts() {
+        Map<UUID, Double> payouts = new HashMap<>();
+        try (Connection connection = dataSource.getConnection();
+                PreparedStatement statement = connection
+                        .prepareStatement("SELECT owner_uuid, amount FROM chunk_collector_payouts");
+                ResultSet resultSet = statement.executeQuery()) {
+
+            while (resultSet.next()) {
+                payouts.put(CollectorCodec.readUuid(resultSet.getBytes("owner_uuid")), resultSet.getDouble("amount"));
+            }
+        } catch (Exception e) {
+            plugin.getLogger().severe("Failed to load pending payouts from MySQL: " + e.getMessage());
+        }
+        return payouts;
+    }
+
+    @Override
+    public boolean savePendingPayouts(Map<UUID, Double> payouts) {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try (PreparedStatement clearStatement = connection.prepareStatement("DELETE FROM chunk_collector_payouts");
+                    PreparedStatement statement = connection.prepareStatement(
+                            "INSERT INTO chunk_collector_payouts (owner_uuid, amount) VALUES (?, ?)")) {
+                clearStatement.executeUpdate();
+
+                for (Map.Entry<UUID, Double> entry : payouts.entrySet()) {
+                    statement.setBytes(1, CollectorCodec.uuidBytes(entry.getKey()));
+                    statement.setDouble(2, entry.getValue());
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+                connection.commit();
+                bytesWritten.addAndGet((long) payouts.size() * (UUID_BYTES + 8));
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+            return true;
+        } catch (Exception e) {
+            plugin.getLogger().severe("Failed to save pending payouts to MySQL: " + e.getMessage());
+            return false;
+        }
+    }
+
+    @Override
+    public long getBytesWritten() {
+        return bytesWritten.get();
+    }
+
     @Override
     public boolean isConnected() {
         try (Connection connection = dataSource.getConnection()) {
@@ -217,32 +548,35 @@ public class MySQLStorage implements StorageInterface {
         }
     }
 
-    private void setCollectorParameters(PreparedStatement statement, ChunkCollector collector) throws SQLException {
+    private long setCollectorParameters(PreparedStatement statement, ChunkCollector collector) throws SQLException {
         Location loc = collector.getLocation();
+        String worldName = loc.getWorld().getName();
 
-        statement.setString(1, collector.getUuid().toString());
-        statement.setString(2, collector.getOwnerUuid().toString());
+        statement.setBytes(1, CollectorCodec.uuidBytes(collector.getUuid()));
+        statement.setBytes(2, CollectorCodec.uuidBytes(collector.getOwnerUuid()));
         statement.setString(3, collector.getOwnerName());
-        statement.setString(4, loc.getWorld().getName());
+        statement.setString(4, worldName);
         statement.setDouble(5, loc.getX());
         statement.setDouble(6, loc.getY());
         statement.setDouble(7, loc.getZ());
         statement.setFloat(8, loc.getYaw());
         statement.setFloat(9, loc.getPitch());
         statement.setLong(10, collector.getCreatedAt());
-        statement.setLong(11, collector.getTimeRemaining());
+        statement.setLong(11, collector.getStoredTimeRemaining());
         statement.setInt(12, collector.getItemsCollected());
         statement.setBoolean(13, collector.isActive());
         statement.setLong(14, collector.getMaxChargeTime());
         statement.setDouble(15, collector.getTotalMoneyEarned());
         statement.setLong(16, collector.getLastAutosellTime());
-        statement.setString(17, serializeVirtualItems(collector.getVirtualItems()));
+        statement.setLong(17, collector.getStoredChargeExpiresAt());
+
+        return 2 * UUID_BYTES + collector.getOwnerName().length() + worldName.length() + FIXED_COLUMN_BYTES;
     }
 
     private ChunkCollector resultSetToCollector(ResultSet resultSet) throws SQLException {
         try {
-            UUID uuid = UUID.fromString(resultSet.getString("uuid"));
-            UUID ownerUuid = UUID.fromString(resultSet.getString("owner_uuid"));
+            UUID uuid = CollectorCodec.readUuid(resultSet.getBytes("uuid"));
+            UUID ownerUuid = CollectorCodec.readUuid(resultSet.getBytes("owner_uuid"));
             String ownerName = resultSet.getString("owner_name");
 
             String worldName = resultSet.getString("world");
@@ -268,15 +602,10 @@ public class MySQLStorage implements StorageInterface {
             long lastAutosellTime = resultSet.getLong("last_autosell_time");
 
             ChunkCollector collector = new ChunkCollector(uuid, ownerUuid, ownerName, location,
-                    createdAt, timeRemaining, itemsCollected, active);
+                    createdAt, resultSet.getLong("charge_expires_at"), timeRemaining, itemsCollected, active);
             collector.setMaxChargeTime(maxChargeTime);
             collector.setTotalMoneyEarned(totalMoneyEarned);
             collector.setLastAutosellTime(lastAutosellTime);
-
-            String virtualItemsStr = resultSet.getString("virtual_items");
-            if (virtualItemsStr != null && !virtualItemsStr.isEmpty()) {
-            }
-
             return collector;
         } catch (Exception e) {
             plugin.getLogger().warning("Failed to convert result set to collector: " + e.getMessage());
@@ -284,18 +613,10 @@ public class MySQLStorage implements StorageInterface {
         }
     }
 
-    private String serializeVirtualItems(java.util.Map<org.bukkit.Material, Integer> virtualItems) {
-        if (virtualItems == null || virtualItems.isEmpty()) {
-            return "";
-        }
+    private static final class Written {
 
-        StringBuilder sb = new StringBuilder();
-        for (java.util.Map.Entry<org.bukkit.Material, Integer> entry : virtualItems.entrySet()) {
-            if (sb.length() > 0) {
-                sb.append(",");
-            }
-            sb.append(entry.getKey().name()).append(":").append(entry.getValue());
-        }
-        return sb.toString();
+        private final Map<UUID, byte[]> rows = new HashMap<>();
+        private final Map<UUID, Map<Material, Integer>> items = new HashMap<>();
+        private long bytes;
     }
 }
@@ -5,13 +5,22 @@ import com.swevmc.models.ChunkCollector;
 import redis.clients.jedis.Jedis;
 import redis.clients.jedis.JedisPool;
 import redis.clients.jedis.JedisPoolConfig;
+import redis.clients.jedis.Pipeline;
+import redis.clients.jedis.Transaction;
 import org.bukkit.Location;
+import org.bukkit.Material;
 
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class RedisStorage implements StorageInterface {
 
@@ -22,7 +31,15 @@ public class RedisStorage implements StorageInterface {
     private final int database;
     private final boolean useSSL;
 
+    private static final String PAYOUTS_KEY = "chunk_collector_payouts";
+    private static final String ITEMS_KEY_PREFIX = "chunk_collector_items:";
+    // Field older versions stored virtual items in as MATERIAL:count text
+    private static final String LEGACY_ITEMS_FIELD = "virtual_items";
+
     private JedisPool jedisPool;
+    private final AtomicLong bytesWritten = new AtomicLong();
+    // Virtual items of each collector as last written, so only changed materials are sent
+    private final Map<UUID, Map<Material, Integer>> writtenItems = new ConcurrentHashMap<>();
 
     public RedisStorage(scc plugin, String host, int port, String password, int database, boolean useSSL) {
         this.plugin = plugin;
@@ -70,15 +87,22 @@ public class RedisStorage implements StorageInterface {
     @Override
     public boolean saveCollectors(List<ChunkCollector> collectors) {
         try (Jedis jedis = jedisPool.getResource()) {
-            Set<String> existingKeys = jedis.keys("chunk_collector:*");
+            Set<String> existingKeys = new HashSet<>(jedis.keys("chunk_collector:*"));
+            existingKeys.addAll(jedis.keys(ITEMS_KEY_PREFIX + "*"));
             if (!existingKeys.isEmpty()) {
                 jedis.del(existingKeys.toArray(new String[0]));
             }
+            writtenItems.clear();
 
+            Pipeline pipeline = jedis.pipelined();
+            Map<UUID, Map<Material, Integer>> written = new HashMap<>();
+            long bytes = 0;
             for (ChunkCollector collector : collectors) {
-                saveCollectorToRedis(jedis, collector);
+                bytes += writeCollector(pipeline, collector, written);
             }
-
+            pipeline.sync();
+            bytesWritten.addAndGet(bytes);
+            writtenItems.putAll(written);
             return true;
         } catch (Exception e) {
             plugin.getLogger().severe("Failed to save collectors to Redis: " + e.getMessage());
@@ -108,10 +132,30 @@ public class RedisStorage implements StorageInterface {
 
     @Override
     public boolean saveCollector(ChunkCollector collector) {
+        return saveChanges(List.of(collector), List.of());
+    }
+
+    @Override
+    public boolean saveChanges(List<ChunkCollector> updated, List<UUID> deleted) {
         try (Jedis jedis = jedisPool.getResource()) {
-            return saveCollectorToRedis(jedis, collector);
+            Pipeline pipeline = jedis.pipelined();
+            Map<UUID, Map<Material, Integer>> written = new HashMap<>();
+            long bytes = 0;
+            for (ChunkCollector collector : updated) {
+                bytes += writeCollector(pipeline, collector, written);
+            }
+            for (UUID collectorUuid : deleted) {
+                String key = "chunk_collector:" + collectorUuid.toString();
+                pipeline.del(key, ITEMS_KEY_PREFIX + collectorUuid);
+                bytes += key.length();
+            }
+            pipeline.sync();
+            bytesWritten.addAndGet(bytes);
+            writtenItems.putAll(written);
+            writtenItems.keySet().removeAll(deleted);
+            return true;
         } catch (Exception e) {
-            plugin.getLogger().severe("Failed to save collector to Redis: " + e.getMessage());
+            plugin.getLogger().severe("Failed to save collector changes to Redis: " + e.getMessage());
             return false;
         }
     }
@@ -120,7 +164,8 @@ public class RedisStorage implements StorageInterface {
     public boolean deleteCollector(UUID collectorUuid) {
         try (Jedis jedis = jedisPool.getResource()) {
             String key = "chunk_collector:" + collectorUuid.toString();
-            Long deleted = jedis.del(key);
+            long deleted = jedis.del(key, ITEMS_KEY_PREFIX + collectorUuid);
+            writtenItems.remove(collectorUuid);
             return deleted > 0;
         } catch (Exception e) {
             plugin.getLogger().severe("Failed to delete collector from Redis: " + e.getMessage());
@@ -129,46 +174,127 @@ public class RedisStorage implements StorageInterface {
     }
 
     @Override
-    public boolean isConnected() {
+    public Map<UUID, Double> loadPendingPayouts() {
+        Map<UUID, Double> payouts = new HashMap<>();
         try (Jedis jedis = jedisPool.getResource()) {
-            return "PONG".equals(jedis.ping());
+            for (Map.Entry<String, String> entry : jedis.hgetAll(PAYOUTS_KEY).entrySet()) {
+                payouts.put(UUID.fromString(entry.getKey()), Double.parseDouble(entry.getValue()));
+            }
         } catch (Exception e) {
+            plugin.getLogger().severe("Failed to load pending payouts from Redis: " + e.getMessage());
+        }
+        return payouts;
+    }
+
+    @Override
+    public boolean savePendingPayouts(Map<UUID, Double> payouts) {
+        try (Jedis jedis = jedisPool.getResource()) {
+            Transaction transaction = jedis.multi();
+            transaction.del(PAYOUTS_KEY);
+            if (!payouts.isEmpty()) {
+                Map<String, String> fields = new HashMap<>();
+                for (Map.Entry<UUID, Double> entry : payouts.entrySet()) {
+                    fields.put(entry.getKey().toString(), String.valueOf(entry.getValue()));
+                }
+                transaction.hset(PAYOUTS_KEY, fields);
+                bytesWritten.addAndGet(payloadBytes(PAYOUTS_KEY, fields));
+            }
+            transaction.exec();
+            return true;
+        } catch (Exception e) {
+            plugin.getLogger().severe("Failed to save pending payouts to Redis: " + e.getMessage());
             return false;
         }
     }
 
-    private boolean saveCollectorToRedis(Jedis jedis, ChunkCollector collector) {
-        try {
-            String key = "chunk_collector:" + collector.getUuid().toString();
-            Location loc = collector.getLocation();
-
-            jedis.hset(key, "uuid", collector.getUuid().toString());
-            jedis.hset(key, "owner_uuid", collector.getOwnerUuid().toString());
-            jedis.hset(key, "owner_name", collector.getOwnerName());
-            jedis.hset(key, "world", loc.getWorld().getName());
-            jedis.hset(key, "x", String.valueOf(loc.getX()));
-            jedis.hset(key, "y", String.valueOf(loc.getY()));
-            jedis.hset(key, "z", String.valueOf(loc.getZ()));
-            jedis.hset(key, "yaw", String.valueOf(loc.getYaw()));
-            jedis.hset(key, "pitch", String.valueOf(loc.getPitch()));
-            jedis.hset(key, "created_at", String.valueOf(collector.getCreatedAt()));
-            jedis.hset(key, "time_remaining", String.valueOf(collector.getTimeRemaining()));
-            jedis.hset(key, "items_collected", String.valueOf(collector.getItemsCollected()));
-            jedis.hset(key, "active", String.valueOf(collector.isActive()));
-            jedis.hset(key, "max_charge_time", String.valueOf(collector.getMaxChargeTime()));
-            jedis.hset(key, "total_money_earned", String.valueOf(collector.getTotalMoneyEarned()));
-            jedis.hset(key, "last_autosell_time", String.valueOf(collector.getLastAutosellTime()));
-            jedis.hset(key, "virtual_items", serializeVirtualItems(collector.getVirtualItems()));
-
-            jedis.expire(key, 30 * 24 * 60 * 60);
+    @Override
+    public long getBytesWritten() {
+        return bytesWritten.get();
+    }
 
-            return true;
+    @Override
+    public boolean isConnected() {
+        try (Jedis jedis = jedisPool.getResource()) {
+            return "PONG".equals(jedis.ping());
         } catch (Exception e) {
-            plugin.getLogger().severe("Failed to save collector to Redis: " + e.getMessage());
             return false;
         }
     }
 
+    /**
+     * Queues the collector's hash and only the item fields whose counts
+     * changed since the last write. Items live in their own hash,
+     * {@code chunk_collector_items:<uuid>}, keyed by material name.
+     */
+    private long writeCollector(Pipeline pipeline, ChunkCollector collector,
+            Map<UUID, Map<Material, Integer>> written) {
+        String key = "chunk_collector:" + collector.getUuid().toString();
+        String itemsKey = ITEMS_KEY_PREFIX + collector.getUuid();
+        Map<String, String> fields = collectorFields(collector);
+        pipeline.hset(key, fields);
+        long bytes = payloadBytes(key, fields);
+
+        Map<Material, Integer> previous = writtenItems.get(collector.getUuid());
+        if (previous == null) {
+            // Not written since load, so a legacy text field may still be there
+            pipeline.hdel(key, LEGACY_ITEMS_FIELD);
+            previous = Map.of();
+        }
+
+        Map<Material, Integer> items = collector.getVirtualItems();
+        ItemDelta delta = ItemDelta.between(previous, items);
+        if (!delta.changed.isEmpty()) {
+            Map<String, String> changed = new HashMap<>();
+            for (Map.Entry<Material, Integer> entry : delta.changed.entrySet()) {
+                changed.put(entry.getKey().name(), String.valueOf(entry.getValue()));
+            }
+            pipeline.hset(itemsKey, changed);
+            bytes += payloadBytes(itemsKey, changed);
+        }
+        if (!delta.removed.isEmpty()) {
+            String[] removed = new String[delta.removed.size()];
+            for (int i = 0; i < removed.length; i++) {
+                removed[i] = delta.removed.get(i).name();
+                bytes += removed[i].length();
+            }
+            pipeline.hdel(itemsKey, removed);
+        }
+        written.put(collector.getUuid(), items);
+        return bytes;
+    }
+
+    private long payloadBytes(String key, Map<String, String> fields) {
+        long bytes = key.length();
+        for (Map.Entry<String, String> entry : fields.entrySet()) {
+            bytes += entry.getKey().length() + entry.getValue().length();
+        }
+        return bytes;
+    }
+
+    private Map<String, String> collectorFields(ChunkCollector collector) {
+        Location loc = collector.getLocation();
+        Map<String, String> fields = new HashMap<>();
+
+        fields.put("uuid", collector.getUuid().toString());
+        fields.put("owner_uuid", collector.getOwnerUuid().toString());
+        fields.put("owner_name", collector.getOwnerName());
+        fields.put("world", loc.getWorld().getName());
+        fields.put("x", String.valueOf(loc.getX()));
+        fields.put("y", String.valueOf(loc.getY()));
+        fields.put("z", String.valueOf(loc.getZ()));
+        fields.put("yaw", String.valueOf(loc.getYaw()));
+        fields.put("pitch", String.valueOf(loc.getPitch()));
+        fields.put("created_at", String.valueOf(collector.getCreatedAt()));
+        fields.put("time_remaining", String.valueOf(collector.getStoredTimeRemaining()));
+        fields.put("charge_expires_at", String.valueOf(collector.getStoredChargeExpiresAt()));
+        fields.put("items_collected", String.valueOf(collector.getItemsCollected()));
+        fields.put("active", String.valueOf(collector.isActive()));
+        fields.put("max_charge_time", String.valueOf(collector.getMaxChargeTime()));
+        fields.put("total_money_earned", String.valueOf(collector.getTotalMoneyEarned()));
+        fields.put("last_autosell_time", String.valueOf(collector.getLastAutosellTime()));
+        return fields;
+    }
+
     private ChunkCollector loadCollectorFromRedis(Jedis jedis, String key) {
         try {
             String uuidStr = jedis.hget(key, "uuid");
@@ -195,6 +321,7 @@ public class RedisStorage implements StorageInterface {
             Location location = new Location(world, x, y, z, yaw, pitch);
             long createdAt = Long.parseLong(jedis.hget(key, "created_at"));
             long timeRemaining = Long.parseLong(jedis.hget(key, "time_remaining"));
+            String chargeExpiresAt = jedis.hget(key, "charge_expires_at");
             int itemsCollected = Integer.parseInt(jedis.hget(key, "items_collected"));
             boolean active = Boolean.parseBoolean(jedis.hget(key, "active"));
             long maxChargeTime = Long.parseLong(jedis.hget(key, "max_charge_time"));
@@ -202,13 +329,20 @@ public class RedisStorage implements StorageInterface {
             long lastAutosellTime = Long.parseLong(jedis.hget(key, "last_autosell_time"));
 
             ChunkCollector collector = new ChunkCollector(uuid, ownerUuid, ownerName, location,
-                    createdAt, timeRemaining, itemsCollected, active);
+                    createdAt, chargeExpiresAt != null ? Long.parseLong(chargeExpiresAt) : 0, timeRemaining,
+                    itemsCollected, active);
             collector.setMaxChargeTime(maxChargeTime);
             collector.setTotalMoneyEarned(totalMoneyEarned);
             collector.setLastAutosellTime(lastAutosellTime);
 
-            String virtualItemsStr = jedis.hget(key, "virtual_items");
-            if (virtualItemsStr != null && !virtualItemsStr.isEmpty()) {
+            String legacyItems = jedis.hget(key, LEGACY_ITEMS_FIELD);
+            if (legacyItems != null) {
+                // Written by an older version; moved to the items hash on the next save
+                collector.setVirtualItems(ItemDelta.parseLegacy(legacyItems));
+            } else {
+                Map<Material, Integer> items = loadItems(jedis, ITEMS_KEY_PREFIX + uuid);
+                collector.setVirtualItems(items);
+                writtenItems.put(uuid, items);
             }
 
             return collector;
@@ -218,18 +352,14 @@ public class RedisStorage implements StorageInterface {
         }
     }
 
-    private String serializeVirtualItems(java.util.Map<org.bukkit.Material, Integer> virtualItems) {
-        if (virtualItems == null || virtualItems.isEmpty()) {
-            return "";
-        }
-
-        StringBuilder sb = new StringBuilder();
-        for (java.util.Map.Entry<org.bukkit.Material, Integer> entry : virtualItems.entrySet()) {
-            if (sb.length() > 0) {
-                sb.append(",");
+    private Map<Material, Integer> loadItems(Jedis jedis, String itemsKey) {
+        Map<Material, Integer> items = new EnumMap<>(Material.class);
+        for (Map.Entry<String, String> entry : jedis.hgetAll(itemsKey).entrySet()) {
+            Material material = Material.getMaterial(entry.getKey());
+            if (material != null) {
+                items.put(material, Integer.parseInt(entry.getValue()));
             }
-            sb.append(entry.getKey().name()).append(":").append(entry.getValue());
         }
-        return sb.toString();
+        return items;
     }
 }
@@ -0,0 +1,402 @@
+package com.swevmc.storage;
+
+import com.swevmc.scc;
+import com.swevmc.models.ChunkCollector;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Storage laid out like Minecraft region files: collectors are grouped by
+ * world and 32x32-chunk region into separate binary files. A region file is
+ * read the first time one of its chunks loads and rewritten only when a
+ * collector inside it changes. A small index of every collector's owner and
+ * region keeps per-player limits correct without reading the regions.
+ * Saves encode under the state lock but write files outside it, so region
+ * reads never wait on a save's disk I/O.
+ */
+public class RegionStorage implements RegionalStorage {
+
+    private static final int REGION_MAGIC = 0x53434352;
+    private static final int INDEX_MAGIC = 0x53434349;
+    private static final int FORMAT_VERSION = 1;
+
+    private final scc plugin;
+    private final File folder;
+    private final File indexFile;
+    private final File payoutsFile;
+
+    private final Map<UUID, IndexEntry> index = new LinkedHashMap<>();
+    private final Map<String, Region> regions = new HashMap<>();
+    private final Map<UUID, Double> payouts = new HashMap<>();
+    private final AtomicLong bytesWritten = new AtomicLong();
+    // Serializes file writes; taken before the state monitor, never inside it
+    private final Object writeLock = new Object();
+
+    public RegionStorage(scc plugin) {
+        this.plugin = plugin;
+        this.folder = new File(plugin.getDataFolder(), "regions");
+        this.indexFile = new File(folder, "index.dat");
+        this.payoutsFile = new File(folder, "payouts.dat");
+    }
+
+    @Override
+    public synchronized boolean initialize() {
+        try {
+            Files.createDirectories(folder.toPath());
+
+            if (indexFile.exists()) {
+                try (DataInputStream in = open(indexFile)) {
+                    checkHeader(in, INDEX_MAGIC, indexFile);
+                    int count = in.readInt();
+                    for (int i = 0; i < count; i++) {
+                        index.put(CollectorCodec.readUuid(in), IndexEntry.read(in));
+                    }
+                }
+            }
+
+            if (payoutsFile.exists()) {
+                try (DataInputStream in = open(payoutsFile)) {
+                    payouts.putAll(CollectorCodec.readPayouts(in));
+                }
+            }
+            return true;
+        } catch (IOException e) {
+            plugin.getLogger().severe("Failed to initialize region storage: " + e.getMessage());
+            return false;
+        }
+    }
+
+    @Override
+    public void shutdown() {
+    }
+
+    @Override
+    public boolean saveCollectors(List<ChunkCollector> collectors) {
+        synchronized (writeLock) {
+            try {
+                Map<File, byte[]> writes = new LinkedHashMap<>();
+                synchronized (this) {
+                    // Cache every old region as empty so reads don't see files pending deletion
+                    Set<Region> touched = new LinkedHashSet<>();
+                    regions.clear();
+                    for (IndexEntry entry : index.values()) {
+                        touched.add(regions.computeIfAbsent(regionKey(entry.world, entry.regionX, entry.regionZ),
+                                key -> new Region(regionFile(entry.world, entry.regionX, entry.regionZ))));
+                    }
+                    index.clear();
+
+                    for (ChunkCollector collector : collectors) {
+                        touched.add(put(collector));
+                    }
+                    for (Region region : touched) {
+                        writes.put(region.file, encodeRegion(region));
+                    }
+                    writes.put(indexFile, encodeIndex());
+                }
+                writeFiles(writes);
+                return true;
+            } catch (IOException e) {
+                plugin.getLogger().severe("Failed to save collectors to region files: " + e.getMessage());
+                return false;
+            }
+        }
+    }
+
+    @Override
+    public synchronized List<ChunkCollector> loadCollectors() {
+        Set<String> loaded = new LinkedHashSet<>();
+        List<ChunkCollector> collectors = new ArrayList<>(index.size());
+        for (IndexEntry entry : index.values()) {
+            if (loaded.add(regionKey(entry.world, entry.regionX, entry.regionZ))) {
+                collectors.addAll(loadRegion(entry.world, entry.regionX, entry.regionZ));
+            }
+        }
+        return collectors;
+    }
+
+    @Override
+    public synchronized List<ChunkCollector> loadRegion(String worldName, int regionX, int regionZ) {
+        List<ChunkCollector> collectors = new ArrayList<>();
+        try {
+            Region region = region(worldName, regionX, regionZ);
+            for (byte[] record : region.records.values()) {
+                ChunkCollector collector = CollectorCodec.read(record, plugin);
+                if (collector != null) {
+                    collectors.add(collector);
+                }
+            }
+        } catch (IOException e) {
+            plugin.getLogger().severe("Failed to load collector region " + worldName + " " + regionX + ","
+                    + regionZ + ": " + e.getMessage());
+        }
+        return collectors;
+    }
+
+    @Override
+    public synchronized Map<UUID, Integer> loadOwnerCounts() {
+        Map<UUID, Integer> counts = new HashMap<>();
+        for (IndexEntry entry : index.values()) {
+            counts.merge(entry.ownerUuid, 1, Integer::sum);
+        }
+        return counts;
+    }
+
+    @Override
+    public boolean saveCollector(ChunkCollector collector) {
+        return saveChanges(Collections.singletonList(collector), Collections.emptyList());
+    }
+
+    @Override
+    public boolean deleteCollector(UUID collectorUuid) {
+        synchronized (this) {
+            if (!index.containsKey(collectorUuid)) {
+                return false;
+            }
+        }
+        return saveChanges(Collections.emptyList(), Collections.singletonList(collectorUuid));
+    }
+
+    @Override
+    public boolean saveChanges(List<ChunkCollector> updated, List<UUID> deleted) {
+        synchronized (writeLock) {
+            try {
+                Map<File, byte[]> writes = new LinkedHashMap<>();
+                synchronized (this) {
+                    int indexed = index.size();
+                    Set<Region> touched = new LinkedHashSet<>();
+                    for (ChunkCollector collector : updated) {
+                        touched.add(put(collector));
+                    }
+                    boolean indexDirty = index.size() != indexed;
+
+                    for (UUID collectorUuid : deleted) {
+                        IndexEntry entry = index.remove(collectorUuid);
+                        if (entry != null) {
+                            Region region = region(entry.world, entry.regionX, entry.regionZ);
+                            region.records.remove(collectorUuid);
+                            touched.add(region);
+                            indexDirty = true;
+                        }
+                    }
+
+                    for (Region region : touched) {
+                        writes.put(region.file, encodeRegion(region));
+                    }
+                    if (indexDirty) {
+                        writes.put(indexFile, encodeIndex());
+                    }
+                }
+                writeFiles(writes);
+                return true;
+            } catch (IOException e) {
+                plugin.getLogger().severe("Failed to save collector changes to region files: " + e.getMessage());
+                return false;
+            }
+        }
+    }
+
+    @Override
+    public synchronized Map<UUID, Double> loadPendingPayouts() {
+        return new HashMap<>(payouts);
+    }
+
+    @Override
+    public boolean savePendingPayouts(Map<UUID, Double> payouts) {
+        synchronized (writeLock) {
+            try {
+                ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+                try (DataOutputStream out = new DataOutputStream(bytes)) {
+                    CollectorCodec.writePayouts(out, payouts);
+                }
+                writeAtomically(payoutsFile, bytes.toByteArray());
+
+                synchronized (this) {
+                    this.payouts.clear();
+                    this.payouts.putAll(payouts);
+                }
+                return true;
+            } catch (IOException e) {
+                plugin.getLogger().severe("Failed to save pending payouts to region files: " + e.getMessage());
+                return false;
+            }
+        }
+    }
+
+    @Override
+    public long getBytesWritten() {
+        return bytesWritten.get();
+    }
+
+    @Override
+    public boolean isConnected() {
+        return folder.isDirectory();
+    }
+
+    private Region put(ChunkCollector collector) throws IOException {
+        String world = collector.getLocation().getWorld().getName();
+        int regionX = collector.getChunkX() >> REGION_SHIFT;
+        int regionZ = collector.getChunkZ() >> REGION_SHIFT;
+
+        Region region = region(world, regionX, regionZ);
+        region.records.put(collector.getUuid(), CollectorCodec.encode(collector));
+        index.putIfAbsent(collector.getUuid(), new IndexEntry(collector.getOwnerUuid(), world, regionX, regionZ));
+        return region;
+    }
+
+    private Region region(String world, int regionX, int regionZ) throws IOException {
+        String key = regionKey(world, regionX, regionZ);
+        Region region = regions.get(key);
+        if (region != null) {
+            return region;
+        }
+
+        region = new Region(regionFile(world, regionX, regionZ));
+        if (region.file.exists()) {
+            try (DataInputStream in = open(region.file)) {
+                checkHeader(in, REGION_MAGIC, region.file);
+                int count = in.readInt();
+                for (int i = 0; i < count; i++) {
+                    byte[] record = new byte[in.readInt()];
+                    in.readFully(record);
+                    region.records.put(CollectorCodec.readUuid(record), record);
+                }
+            }
+        }
+        regions.put(key, region);
+        return region;
+    }
+
+    /**
+     * Writes each file atomically, or deletes it if its data is null.
+     */
+    private void writeFiles(Map<File, byte[]> writes) throws IOException {
+        for (Map.Entry<File, byte[]> write : writes.entrySet()) {
+            File file = write.getKey();
+            if (write.getValue() == null) {
+                Files.deleteIfExists(file.toPath());
+            } else {
+                Files.createDirectories(file.getParentFile().toPath());
+                writeAtomically(file, write.getValue());
+            }
+        }
+    }
+
+    private byte[] encodeRegion(Region region) throws IOException {
+        if (region.records.isEmpty()) {
+            return null;
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(REGION_MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeInt(region.records.size());
+            for (byte[] record : region.records.values()) {
+                out.writeInt(record.length);
+                out.write(record);
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    private byte[] encodeIndex() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(INDEX_MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeInt(index.size());
+            for (Map.Entry<UUID, IndexEntry> entry : index.entrySet()) {
+                CollectorCodec.writeUuid(out, entry.getKey());
+                entry.getValue().write(out);
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    private void writeAtomically(File file, byte[] data) throws IOException {
+        File temp = new File(file.getPath() + ".tmp");
+        try (FileOutputStream out = new FileOutputStream(temp)) {
+            out.write(data);
+            out.getFD().sync();
+        }
+        Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+        bytesWritten.addAndGet(data.length);
+    }
+
+    private DataInputStream open(File file) throws IOException {
+        return new DataInputStream(new BufferedInputStream(Files.newInputStream(file.toPath()), 1 << 16));
+    }
+
+    private void checkHeader(DataInputStream in, int magic, File file) throws IOException {
+        if (in.readInt() != magic) {
+            throw new IOException(file.getName() + " is not a collector region file");
+        }
+        int version = in.readInt();
+        if (version != FORMAT_VERSION) {
+            throw new IOException(file.getName() + " has unsupported version " + version);
+        }
+    }
+
+    private File regionFile(String world, int regionX, int regionZ) {
+        return new File(new File(folder, world), "r." + regionX + "." + regionZ + ".dat");
+    }
+
+    private static String regionKey(String world, int regionX, int regionZ) {
+        return world + '/' + regionX + '/' + regionZ;
+    }
+
+    private static final class Region {
+
+        private final File file;
+        private final Map<UUID, byte[]> records = new LinkedHashMap<>();
+
+        private Region(File file) {
+            this.file = file;
+        }
+    }
+
+    private static final class IndexEntry {
+
+        private final UUID ownerUuid;
+        private final String world;
+        private final int regionX;
+        private final int regionZ;
+
+        private IndexEntry(UUID ownerUuid, String world, int regionX, int regionZ) {
+            this.ownerUuid = ownerUuid;
+            this.world = world;
+            this.regionX = regionX;
+            this.regionZ = regionZ;
+        }
+
+        private static IndexEntry read(DataInputStream in) throws IOException {
+            return new IndexEntry(CollectorCodec.readUuid(in), in.readUTF(), in.readInt(), in.readInt());
+        }
+
+        private void write(DataOutputStream out) throws IOException {
+            CollectorCodec.writeUuid(out, ownerUuid);
+            out.writeUTF(world);
+            out.writeInt(regionX);
+            out.writeInt(regionZ);
+        }
+    }
+}
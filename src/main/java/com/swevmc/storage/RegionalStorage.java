@@ -0,0 +1,20 @@
+package com.swevmc.storage;
+
+import com.swevmc.models.ChunkCollector;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Storage that can load collectors one region (32x32 chunks) at a time
+ * instead of all at startup.
+ */
+public interface RegionalStorage extends StorageInterface {
+
+    int REGION_SHIFT = 5;
+
+    List<ChunkCollector> loadRegion(String worldName, int regionX, int regionZ);
+
+    Map<UUID, Integer> loadOwnerCounts();
+}
@@ -0,0 +1,445 @@
+package com.swevmc.storage;
+
+import com.swevmc.scc;
+import com.swevmc.models.ChunkCollector;
+import org.bukkit.Location;
+import org.bukkit.Material;
+
+import java.io.File;
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Embedded single-file SQL storage for servers without a database server.
+ * Uses the SQLite driver bundled with the server, in WAL mode, with one
+ * row per collector and one row per stored material.
+ */
+public class SQLiteStorage implements StorageInterface {
+
+    // Bound numeric columns of a collector row: 9 eight-byte, 2 floats, 3 ints, 1 boolean
+    private static final int FIXED_COLUMN_BYTES = 9 * 8 + 2 * 4 + 3 * 4 + 1;
+    private static final int UUID_BYTES = 16;
+
+    private static final String UPSERT_SQL = """
+            INSERT INTO chunk_collectors (uuid, owner_uuid, owner_name, world, x, y, z, yaw, pitch,
+                chunk_x, chunk_z, created_at, time_remaining, items_collected, active, max_charge_time,
+                total_money_earned, last_autosell_time, charge_expires_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            ON CONFLICT(uuid) DO UPDATE SET
+                owner_name = excluded.owner_name,
+                time_remaining = excluded.time_remaining,
+                charge_expires_at = excluded.charge_expires_at,
+                items_collected = excluded.items_collected,
+                active = excluded.active,
+                max_charge_time = excluded.max_charge_time,
+                total_money_earned = excluded.total_money_earned,
+                last_autosell_time = excluded.last_autosell_time
+            """;
+
+    private static final String UPSERT_ITEM_SQL = """
+            INSERT INTO chunk_collector_items (collector_uuid, material, amount) VALUES (?, ?, ?)
+            ON CONFLICT(collector_uuid, material) DO UPDATE SET amount = excluded.amount
+            """;
+
+    private final scc plugin;
+    private final File databaseFile;
+    private final AtomicLong bytesWritten = new AtomicLong();
+    // Virtual items of each collector as last committed, so only changed materials are written
+    private final Map<UUID, Map<Material, Integer>> writtenItems = new HashMap<>();
+
+    private Connection connection;
+
+    public SQLiteStorage(scc plugin, String fileName) {
+        this.plugin = plugin;
+        this.databaseFile = new File(plugin.getDataFolder(), fileName);
+    }
+
+    @Override
+    public synchronized boolean initialize() {
+        try {
+            databaseFile.getParentFile().mkdirs();
+            Class.forName("org.sqlite.JDBC");
+            connection = DriverManager.getConnection("jdbc:sqlite:" + databaseFile.getAbsolutePath());
+
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("PRAGMA journal_mode=WAL");
+                statement.execute("PRAGMA synchronous=NORMAL");
+                statement.execute("PRAGMA foreign_keys=ON");
+            }
+            createTables();
+            plugin.getLogger().info("Opened SQLite database " + databaseFile.getName());
+            return true;
+        } catch (Exception e) {
+            plugin.getLogger().severe("Failed to open SQLite database: " + e.getMessage());
+            return false;
+        }
+    }
+
+    private void createTables() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.executeUpdate("""
+                    CREATE TABLE IF NOT EXISTS chunk_collectors (
+                        uuid BLOB PRIMARY KEY,
+                        owner_uuid BLOB NOT NULL,
+                        owner_name TEXT NOT NULL,
+                        world TEXT NOT NULL,
+                        x REAL NOT NULL,
+                        y REAL NOT NULL,
+                        z REAL NOT NULL,
+                        yaw REAL NOT NULL,
+                        pitch REAL NOT NULL,
+                        chunk_x INTEGER NOT NULL,
+                        chunk_z INTEGER NOT NULL,
+                        created_at INTEGER NOT NULL,
+                        time_remaining INTEGER NOT NULL,
+                        items_collected INTEGER NOT NULL,
+                        active INTEGER NOT NULL,
+                        max_charge_time INTEGER NOT NULL DEFAULT 0,
+                        total_money_earned REAL NOT NULL DEFAULT 0.0,
+                        last_autosell_time INTEGER NOT NULL DEFAULT 0,
+                        charge_expires_at INTEGER NOT NULL DEFAULT 0
+                    )
+                    """);
+            if (!hasColumn("chunk_collectors", "charge_expires_at")) {
+                statement.executeUpdate(
+                        "ALTER TABLE chunk_collectors ADD COLUMN charge_expires_at INTEGER NOT NULL DEFAULT 0");
+            }
+            statement.executeUpdate("CREATE INDEX IF NOT EXISTS idx_collectors_owner ON chunk_collectors (owner_uuid)");
+            statement.executeUpdate(
+                    "CREATE INDEX IF NOT EXISTS idx_collectors_chunk ON chunk_collectors (world, chunk_x, chunk_z)");
+
+            statement.executeUpdate("""
+                    CREATE TABLE IF NOT EXISTS chunk_collector_items (
+                        collector_uuid BLOB NOT NULL REFERENCES chunk_collectors (uuid) ON DELETE CASCADE,
+                        material TEXT NOT NULL,
+                        amount INTEGER NOT NULL,
+                        PRIMARY KEY (collector_uuid, material)
+                    ) WITHOUT ROWID
+                    """);
+
+            statement.executeUpdate("""
+                    CREATE TABLE IF NOT EXISTS chunk_collector_payouts (
+                        owner_uuid BLOB PRIMARY KEY,
+                        amount REAL NOT NULL
+                    )
+                    """);
+        }
+    }
+
+    private boolean hasColumn(String table, String column) throws SQLException {
+        try (Statement statement = connection.createStatement();
+                ResultSet resultSet = statement.executeQuery("PRAGMA table_info(" + table + ")")) {
+            while (resultSet.next()) {
+                if (column.equalsIgnoreCase(resultSet.getString("name"))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public synchronized void shutdown() {
+        if (connection == null) {
+            return;
+        }
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("PRAGMA wal_checkpoint(TRUNCATE)");
+        } catch (SQLException e) {
+            plugin.getLogger().warning("Failed to checkpoint SQLite database: " + e.getMessage());
+        }
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            plugin.getLogger().warning("Failed to close SQLite database: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public synchronized boolean saveCollectors(List<ChunkCollector> collectors) {
+        try {
+            connection.setAutoCommit(false);
+            try {
+                try (Statement statement = connection.createStatement()) {
+                    statement.executeUpdate("DELETE FROM chunk_collectors");
+                }
+                Map<UUID, Map<Material, Integer>> written = new HashMap<>();
+                bytesWritten.addAndGet(writeCollectors(collectors, Collections.emptyMap(), written));
+                connection.commit();
+                writtenItems.clear();
+                writtenItems.putAll(written);
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+            return true;
+        } catch (SQLException e) {
+            plugin.getLogger().severe("Failed to save collectors to SQLite: " + e.getMessage());
+            return false;
+        }
+    }
+
+    @Override
+    public synchronized List<ChunkCollector> loadCollectors() {
+        List<ChunkCollector> collectors = new ArrayList<>();
+        try {
+            Map<UUID, Map<Material, Integer>> items = loadItems();
+
+            try (Statement statement = connection.createStatement();
+                    ResultSet resultSet = statement.executeQuery("SELECT * FROM chunk_collectors")) {
+                while (resultSet.next()) {
+                    ChunkCollector collector = resultSetToCollector(resultSet);
+                    if (collector != null) {
+                        Map<Material, Integer> virtualItems = items.get(collector.getUuid());
+                        if (virtualItems != null) {
+                            collector.setVirtualItems(virtualItems);
+                            writtenItems.put(collector.getUuid(), virtualItems);
+                        }
+                        collectors.add(collector);
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            plugin.getLogger().severe("Failed to load collectors from SQLite: " + e.getMessage());
+        }
+        return collectors;
+    }
+
+    private Map<UUID, Map<Material, Integer>> loadItems() throws SQLException {
+        Map<UUID, Map<Material, Integer>> items = new HashMap<>();
+        try (Statement statement = connection.createStatement();
+                ResultSet resultSet = statement
+                        .executeQuery("SELECT collector_uuid, material, amount FROM chunk_collector_items")) {
+            while (resultSet.next()) {
+                Material material = Material.getMaterial(resultSet.getString("material"));
+                if (material != null) {
+                    items.computeIfAbsent(CollectorCodec.readUuid(resultSet.getBytes("collector_uuid")),
+                            uuid -> new EnumMap<>(Material.class)).put(material, resultSet.getInt("amount"));
+                }
+            }
+        }
+        return items;
+    }
+
+    @Override
+    public boolean saveCollector(ChunkCollector collector) {
+        return saveChanges(Collections.singletonList(collector), Collections.emptyList());
+    }
+
+    @Override
+    public synchronized boolean deleteCollector(UUID collectorUuid) {
+        try (PreparedStatement statement = connection.prepareStatement("DELETE FROM chunk_collectors WHERE uuid = ?")) {
+            statement.setBytes(1, CollectorCodec.uuidBytes(collectorUuid));
+            writtenItems.remove(collectorUuid);
+            return statement.executeUpdate() > 0;
+        } catch (SQLException e) {
+            plugin.getLogger().severe("Failed to delete collector from SQLite: " + e.getMessage());
+            return false;
+        }
+    }
+
+    @Override
+    public synchronized boolean saveChanges(List<ChunkCollector> updated, List<UUID> deleted) {
+        try {
+            connection.setAutoCommit(false);
+            try {
+                Map<UUID, Map<Material, Integer>> written = new HashMap<>();
+                long bytes = writeCollectors(updated, writtenItems, written);
+
+                if (!deleted.isEmpty()) {
+                    try (PreparedStatement statement = connection
+                            .prepareStatement("DELETE FROM chunk_collectors WHERE uuid = ?")) {
+                        for (UUID collectorUuid : deleted) {
+                            statement.setBytes(1, CollectorCodec.uuidBytes(collectorUuid));
+                            statement.addBatch();
+                        }
+                        statement.executeBatch();
+                    }
+                    bytes += (long) deleted.size() * UUID_BYTES;
+                }
+
+                connection.commit();
+                bytesWritten.addAndGet(bytes);
+                writtenItems.putAll(written);
+                writtenItems.keySet().removeAll(deleted);
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+            return true;
+        } catch (SQLException e) {
+            plugin.getLogger().severe("Failed to save collector changes to SQLite: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Upserts the collectors and writes only the materials whose counts
+     * differ from {@code previous}. The new item maps are put into
+     * {@code written} to be recorded once the transaction commits.
+     */
+    private long writeCollectors(List<ChunkCollector> collectors, Map<UUID, Map<Material, Integer>> previous,
+            Map<UUID, Map<Material, Integer>> written) throws SQLException {
+        if (collectors.isEmpty()) {
+            return 0;
+        }
+
+        long bytes = 0;
+        try (PreparedStatement upsert = connection.prepareStatement(UPSERT_SQL);
+                PreparedStatement deleteItem = connection.prepareStatement(
+                        "DELETE FROM chunk_collector_items WHERE collector_uuid = ? AND material = ?");
+                PreparedStatement upsertItem = connection.prepareStatement(UPSERT_ITEM_SQL)) {
+            for (ChunkCollector collector : collectors) {
+                byte[] uuid = CollectorCodec.uuidBytes(collector.getUuid());
+                bytes += setCollectorParameters(upsert, uuid, collector);
+                upsert.addBatch();
+
+                Map<Material, Integer> items = collector.getVirtualItems();
+                ItemDelta delta = ItemDelta.between(previous.getOrDefault(collector.getUuid(), Map.of()), items);
+                for (Material material : delta.removed) {
+                    deleteItem.setBytes(1, uuid);
+                    deleteItem.setString(2, material.name());
+                    deleteItem.addBatch();
+                    bytes += UUID_BYTES + material.name().length();
+                }
+                for (Map.Entry<Material, Integer> entry : delta.changed.entrySet()) {
+                    upsertItem.setBytes(1, uuid);
+                    upsertItem.setString(2, entry.getKey().name());
+                    upsertItem.setInt(3, entry.getValue());
+                    upsertItem.addBatch();
+                    bytes += UUID_BYTES + entry.getKey().name().length() + 4;
+                }
+                written.put(collector.getUuid(), items);
+            }
+            upsert.executeBatch();
+            deleteItem.executeBatch();
+            upsertItem.executeBatch();
+        }
+        return bytes;
+    }
+
+    @Override
+    public synchronized Map<UUID, Double> loadPendingPayouts() {
+        Map<UUID, Double> payouts = new HashMap<>();
+        try (Statement statement = connection.createStatement();
+                ResultSet resultSet = statement.executeQuery("SELECT owner_uuid, amount FROM chunk_collector_payouts")) {
+            while (resultSet.next()) {
+                payouts.put(CollectorCodec.readUuid(resultSet.getBytes("owner_uuid")), resultSet.getDouble("amount"));
+            }
+        } catch (SQLException e) {
+            plugin.getLogger().severe("Failed to load pending payouts from SQLite: " + e.getMessage());
+        }
+        return payouts;
+    }
+
+    @Override
+    public synchronized boolean savePendingPayouts(Map<UUID, Double> payouts) {
+        try {
+            connection.setAutoCommit(false);
+            try (Statement clearStatement = connection.createStatement();
+                    PreparedStatement statement = connection.prepareStatement(
+                            "INSERT INTO chunk_collector_payouts (owner_uuid, amount) VALUES (?, ?)")) {
+                clearStatement.executeUpdate("DELETE FROM chunk_collector_payouts");
+
+                for (Map.Entry<UUID, Double> entry : payouts.entrySet()) {
+                    statement.setBytes(1, CollectorCodec.uuidBytes(entry.getKey()));
+                    statement.setDouble(2, entry.getValue());
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+                connection.commit();
+                bytesWritten.addAndGet((long) payouts.size() * (UUID_BYTES + 8));
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+            return true;
+        } catch (SQLException e) {
+            plugin.getLogger().severe("Failed to save pending payouts to SQLite: " + e.getMessage());
+            return false;
+        }
+    }
+
+    @Override
+    public long getBytesWritten() {
+        return bytesWritten.get();
+    }
+
+    @Override
+    public synchronized boolean isConnected() {
+        try {
+            return connection != null && !connection.isClosed();
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private long setCollectorParameters(PreparedStatement statement, byte[] uuid, ChunkCollector collector)
+            throws SQLException {
+        Location loc = collector.getLocation();
+        String worldName = loc.getWorld().getName();
+
+        statement.setBytes(1, uuid);
+        statement.setBytes(2, CollectorCodec.uuidBytes(collector.getOwnerUuid()));
+        statement.setString(3, collector.getOwnerName());
+        statement.setString(4, worldName);
+        statement.setDouble(5, loc.getX());
+        statement.setDouble(6, loc.getY());
+        statement.setDouble(7, loc.getZ());
+        statement.setFloat(8, loc.getYaw());
+        statement.setFloat(9, loc.getPitch());
+        statement.setInt(10, collector.getChunkX());
+        statement.setInt(11, collector.getChunkZ());
+        statement.setLong(12, collector.getCreatedAt());
+        statement.setLong(13, collector.getStoredTimeRemaining());
+        statement.setInt(14, collector.getItemsCollected());
+        statement.setBoolean(15, collector.isActive());
+        statement.setLong(16, collector.getMaxChargeTime());
+        statement.setDouble(17, collector.getTotalMoneyEarned());
+        statement.setLong(18, collector.getLastAutosellTime());
+        statement.setLong(19, collector.getStoredChargeExpiresAt());
+
+        return 2 * UUID_BYTES + collector.getOwnerName().length() + worldName.length() + FIXED_COLUMN_BYTES;
+    }
+
+    private ChunkCollector resultSetToCollector(ResultSet resultSet) {
+        try {
+            UUID uuid = CollectorCodec.readUuid(resultSet.getBytes("uuid"));
+            String worldName = resultSet.getString("world");
+
+            org.bukkit.World world = plugin.getServer().getWorld(worldName);
+            if (world == null) {
+                plugin.getLogger().warning("World not found: " + worldName + " for collector " + uuid);
+                return null;
+            }
+
+            Location location = new Location(world, resultSet.getDouble("x"), resultSet.getDouble("y"),
+                    resultSet.getDouble("z"), resultSet.getFloat("yaw"), resultSet.getFloat("pitch"));
+            ChunkCollector collector = new ChunkCollector(uuid,
+                    CollectorCodec.readUuid(resultSet.getBytes("owner_uuid")), resultSet.getString("owner_name"),
+                    location, resultSet.getLong("created_at"), resultSet.getLong("charge_expires_at"),
+                    resultSet.getLong("time_remaining"), resultSet.getInt("items_collected"),
+                    resultSet.getBoolean("active"));
+            collector.setMaxChargeTime(resultSet.getLong("max_charge_time"));
+            collector.setTotalMoneyEarned(resultSet.getDouble("total_money_earned"));
+            collector.setLastAutosellTime(resultSet.getLong("last_autosell_time"));
+            return collector;
+        } catch (Exception e) {
+            plugin.getLogger().warning("Failed to convert result set to collector: " + e.getMessage());
+            return null;
+        }
+    }
+}
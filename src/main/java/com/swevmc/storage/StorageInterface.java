@@ -2,6 +2,7 @@ package com.swevmc.storage;
 
 import com.swevmc.models.ChunkCollector;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 public interface StorageInterface {
@@ -18,5 +19,13 @@ public interface StorageInterface {
     
     boolean deleteCollector(UUID collectorUuid);
     
+    boolean saveChanges(List<ChunkCollector> updated, List<UUID> deleted);
+    
+    Map<UUID, Double> loadPendingPayouts();
+    
+    boolean savePendingPayouts(Map<UUID, Double> payouts);
+    
     boolean isConnected();
+    
+    long getBytesWritten();
 }
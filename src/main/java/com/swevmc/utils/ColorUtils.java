@@ -2,8 +2,14 @@ package com.swevmc.utils;
 
 import net.md_5.bungee.api.ChatColor;
 
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
 public class ColorUtils {
     
+    private static final Pattern HEX_PATTERN = Pattern.compile("#[A-Fa-f0-9]{6}");
+    private static final Pattern LEGACY_CODE_PATTERN = Pattern.compile("§[0-9a-fk-or]");
+    
     public static String translateColors(String text) {
         if (text == null) return null;
         
@@ -14,10 +20,13 @@ public class ColorUtils {
     }
     
     private static String translateHexColors(String text) {
-        java.util.regex.Pattern hexPattern = java.util.regex.Pattern.compile("#[A-Fa-f0-9]{6}");
-        java.util.regex.Matcher matcher = hexPattern.matcher(text);
+        if (text.indexOf('#') < 0) {
+            return text;
+        }
+        
+        Matcher matcher = HEX_PATTERN.matcher(text);
         
-        StringBuffer result = new StringBuffer();
+        StringBuilder result = new StringBuilder(text.length() + 16);
         while (matcher.find()) {
             String hexColor = matcher.group();
             try {
@@ -35,9 +44,9 @@ public class ColorUtils {
     public static String stripColors(String text) {
         if (text == null) return null;
         
-        text = text.replaceAll("§[0-9a-fk-or]", "");
+        text = LEGACY_CODE_PATTERN.matcher(text).replaceAll("");
         
-        text = text.replaceAll("#[A-Fa-f0-9]{6}", "");
+        text = HEX_PATTERN.matcher(text).replaceAll("");
         
         return text;
     }
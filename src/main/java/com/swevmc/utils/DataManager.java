@@ -4,10 +4,18 @@ import com.swevmc.scc;
 import com.swevmc.models.ChunkCollector;
 import com.swevmc.storage.StorageInterface;
 import com.swevmc.storage.FileStorage;
+import com.swevmc.storage.JournalStorage;
+import com.swevmc.storage.MappedStorage;
 import com.swevmc.storage.MySQLStorage;
 import com.swevmc.storage.RedisStorage;
+import com.swevmc.storage.RegionStorage;
+import com.swevmc.storage.RegionalStorage;
+import com.swevmc.storage.SQLiteStorage;
 
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 
 public class DataManager {
     
@@ -46,6 +54,27 @@ public class DataManager {
                 plugin.getLogger().info("Initializing Redis storage...");
                 break;
                 
+            case "JOURNAL":
+                storage = new JournalStorage(plugin, plugin.getConfigManager().getJournalCompactThreshold(),
+                        plugin.getConfigManager().isJournalFsync());
+                plugin.getLogger().info("Initializing journal storage...");
+                break;
+                
+            case "MAPPED":
+                storage = new MappedStorage(plugin);
+                plugin.getLogger().info("Initializing mapped storage...");
+                break;
+                
+            case "REGION":
+                storage = new RegionStorage(plugin);
+                plugin.getLogger().info("Initializing region storage...");
+                break;
+                
+            case "SQLITE":
+                storage = new SQLiteStorage(plugin, plugin.getConfigManager().getSQLiteFile());
+                plugin.getLogger().info("Initializing SQLite storage...");
+                break;
+                
             case "FILE":
             default:
                 storage = new FileStorage(plugin);
@@ -77,6 +106,24 @@ public class DataManager {
         return null;
     }
     
+    public boolean isRegionalStorage() {
+        return storage instanceof RegionalStorage;
+    }
+    
+    public List<ChunkCollector> loadRegion(String worldName, int regionX, int regionZ) {
+        if (storage instanceof RegionalStorage) {
+            return ((RegionalStorage) storage).loadRegion(worldName, regionX, regionZ);
+        }
+        return Collections.emptyList();
+    }
+    
+    public Map<UUID, Integer> loadOwnerCounts() {
+        if (storage instanceof RegionalStorage) {
+            return ((RegionalStorage) storage).loadOwnerCounts();
+        }
+        return Collections.emptyMap();
+    }
+    
     public void saveCollector(ChunkCollector collector) {
         if (storage != null) {
             storage.saveCollector(collector);
@@ -89,6 +136,30 @@ public class DataManager {
         }
     }
     
+    public boolean saveChanges(List<ChunkCollector> updated, List<UUID> deleted) {
+        if (storage != null) {
+            return storage.saveChanges(updated, deleted);
+        }
+        return false;
+    }
+    
+    public Map<UUID, Double> loadPendingPayouts() {
+        if (storage != null) {
+            return storage.loadPendingPayouts();
+        }
+        return null;
+    }
+    
+    public void savePendingPayouts(Map<UUID, Double> payouts) {
+        if (storage != null) {
+            storage.savePendingPayouts(payouts);
+        }
+    }
+    
+    public long getBytesWritten() {
+        return storage != null ? storage.getBytesWritten() : 0;
+    }
+    
     public boolean isStorageConnected() {
         return storage != null && storage.isConnected();
     }
@@ -0,0 +1,118 @@
+package com.swevmc.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.ObjLongConsumer;
+
+/**
+ * Hierarchical timing wheel keyed on wall-clock deadlines. Scheduling is O(1)
+ * and advancing only touches the buckets that come due, so the cost of a
+ * tick is proportional to the number of expiring timers. Entries are never
+ * cancelled; callers compare the delivered deadline with their current one
+ * and ignore stale fires. Main thread only.
+ */
+public class TimerWheel<T> {
+
+    private static final int WHEEL_BITS = 6;
+    private static final int WHEEL_SIZE = 1 << WHEEL_BITS;
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+    private static final int LEVELS = 4;
+    private static final long MAX_SPAN = 1L << (WHEEL_BITS * LEVELS);
+
+    private final long tickMillis;
+    private final List<Entry<T>>[][] wheels;
+    private long currentTick;
+    private int size;
+
+    @SuppressWarnings("unchecked")
+    public TimerWheel(long tickMillis, long nowMillis) {
+        this.tickMillis = tickMillis;
+        this.wheels = new List[LEVELS][WHEEL_SIZE];
+        this.currentTick = nowMillis / tickMillis;
+    }
+
+    public void schedule(T value, long deadlineMillis) {
+        long tick = Math.max((deadlineMillis + tickMillis - 1) / tickMillis, currentTick + 1);
+        insert(new Entry<>(value, deadlineMillis, tick));
+        size++;
+    }
+
+    public void advance(long nowMillis, ObjLongConsumer<T> action) {
+        long targetTick = nowMillis / tickMillis;
+        while (currentTick < targetTick) {
+            currentTick++;
+            cascade();
+
+            int slot = (int) (currentTick & WHEEL_MASK);
+            List<Entry<T>> bucket = wheels[0][slot];
+            if (bucket == null) {
+                continue;
+            }
+
+            wheels[0][slot] = null;
+            size -= bucket.size();
+            for (Entry<T> entry : bucket) {
+                action.accept(entry.value, entry.deadlineMillis);
+            }
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private void cascade() {
+        int topLevel = 0;
+        for (int level = 1; level < LEVELS; level++) {
+            if ((currentTick & ((1L << (level * WHEEL_BITS)) - 1)) != 0) {
+                break;
+            }
+            topLevel = level;
+        }
+
+        for (int level = topLevel; level >= 1; level--) {
+            int slot = (int) ((currentTick >>> (level * WHEEL_BITS)) & WHEEL_MASK);
+            List<Entry<T>> bucket = wheels[level][slot];
+            if (bucket == null) {
+                continue;
+            }
+
+            wheels[level][slot] = null;
+            for (Entry<T> entry : bucket) {
+                insert(entry);
+            }
+        }
+    }
+
+    private void insert(Entry<T> entry) {
+        long delta = entry.tick - currentTick;
+        long placedTick = delta < MAX_SPAN ? Math.max(entry.tick, currentTick) : currentTick + MAX_SPAN - 1;
+        delta = placedTick - currentTick;
+
+        int level = 0;
+        while (level < LEVELS - 1 && delta >= 1L << ((level + 1) * WHEEL_BITS)) {
+            level++;
+        }
+
+        int slot = (int) ((placedTick >>> (level * WHEEL_BITS)) & WHEEL_MASK);
+        List<Entry<T>> bucket = wheels[level][slot];
+        if (bucket == null) {
+            bucket = new ArrayList<>();
+            wheels[level][slot] = bucket;
+        }
+        bucket.add(entry);
+    }
+
+    private static final class Entry<T> {
+
+        private final T value;
+        private final long deadlineMillis;
+        private final long tick;
+
+        private Entry(T value, long deadlineMillis, long tick) {
+            this.value = value;
+            this.deadlineMillis = deadlineMillis;
+            this.tick = tick;
+        }
+    }
+}
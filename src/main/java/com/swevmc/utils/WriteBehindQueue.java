@@ -0,0 +1,77 @@
+package com.swevmc.utils;
+
+import com.swevmc.models.ChunkCollector;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Pending collector writes. Repeated changes to one collector coalesce into
+ * a single entry, and a deletion replaces any pending update for the same
+ * collector. Main thread only.
+ */
+public class WriteBehindQueue {
+
+    private final Map<UUID, ChunkCollector> updates = new LinkedHashMap<>();
+    private final Set<UUID> deletes = new LinkedHashSet<>();
+
+    public void markChanged(ChunkCollector collector) {
+        updates.putIfAbsent(collector.getUuid(), collector);
+    }
+
+    public void markDeleted(UUID collectorUuid) {
+        updates.remove(collectorUuid);
+        deletes.add(collectorUuid);
+    }
+
+    public boolean isEmpty() {
+        return updates.isEmpty() && deletes.isEmpty();
+    }
+
+    public int size() {
+        return updates.size() + deletes.size();
+    }
+
+    public List<ChunkCollector> drainUpdates(int max) {
+        List<ChunkCollector> drained = new ArrayList<>(Math.min(max, updates.size()));
+        Iterator<ChunkCollector> iterator = updates.values().iterator();
+        while (iterator.hasNext() && drained.size() < max) {
+            drained.add(iterator.next());
+            iterator.remove();
+        }
+        return drained;
+    }
+
+    public List<UUID> drainDeletes(int max) {
+        List<UUID> drained = new ArrayList<>(Math.min(max, deletes.size()));
+        Iterator<UUID> iterator = deletes.iterator();
+        while (iterator.hasNext() && drained.size() < max) {
+            drained.add(iterator.next());
+            iterator.remove();
+        }
+        return drained;
+    }
+
+    /**
+     * Puts back a batch that failed to write, unless a newer change for the
+     * same collector has been queued since.
+     */
+    public void requeue(List<ChunkCollector> failedUpdates, List<UUID> failedDeletes) {
+        for (ChunkCollector collector : failedUpdates) {
+            if (!deletes.contains(collector.getUuid())) {
+                updates.putIfAbsent(collector.getUuid(), collector);
+            }
+        }
+        for (UUID collectorUuid : failedDeletes) {
+            if (!updates.containsKey(collectorUuid)) {
+                deletes.add(collectorUuid);
+            }
+        }
+    }
+}